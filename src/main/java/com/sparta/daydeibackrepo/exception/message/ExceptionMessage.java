@@ -29,6 +29,8 @@ public enum ExceptionMessage {
     INVALID_SHARED_POST_DELETE(BAD_REQUEST,"올바르지 않은 공유일정 삭제입니다."),
     INVALID_SUBSCRIBE_REQUEST(BAD_REQUEST,"구독 요청이 올바르지 않습니다."),
     INVALID_SUBSCRIBE_CANCEL(BAD_REQUEST,"구독 취소 요청이 올바르지 않습니다."),
+    INVALID_SYNC_TOKEN(BAD_REQUEST,"동기화 토큰이 올바르지 않습니다."),
+    INVALID_DATE_FORMAT(BAD_REQUEST,"날짜 형식이 올바르지 않습니다. (yyyy-MM-dd)"),
 
 
     /* 401 UNAUTHORIZED : 인증되지 않은 사용자 */
@@ -59,7 +61,11 @@ public enum ExceptionMessage {
     DUPLICATE_EMAIL(CONFLICT,"중복된 이메일입니다."),
     DUPLICATE_CATEGORY(CONFLICT,"이미 등록된 카테고리입니다."),
     DUPLICATE_TAG_USER_JOIN_POST(CONFLICT,"해당 유저는 이미 일정 초대되었습니다."),
-    DUPLICATE_SUBSCRIBE_USER(CONFLICT,"이미 구독하고 있는 유저입니다.");
+    DUPLICATE_SUBSCRIBE_USER(CONFLICT,"이미 구독하고 있는 유저입니다."),
+
+
+    /* 410 GONE : 더 이상 제공하지 않는 Resource */
+    SYNC_TOKEN_EXPIRED(GONE,"동기화 토큰이 만료되었습니다. 전체 일정을 다시 조회해주세요.");
 
 
     private final HttpStatus httpStatus;
@@ -38,8 +38,10 @@ public class FriendController {
     }
 
     @GetMapping("/recommend")
-    public StatusResponseDto<List<UserResponseDto>> getRecommendList(@RequestParam List<String> category, @RequestParam String searchword, @Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails){
-        return StatusResponseDto.success(friendService.getRecommendList(category,searchword,userDetails));
+    public StatusResponseDto<List<UserResponseDto>> getRecommendList(@RequestParam List<String> category, @RequestParam String searchword,
+                                                                     @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size,
+                                                                     @Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails){
+        return StatusResponseDto.success(friendService.getRecommendList(category,searchword,page,size,userDetails));
     }
 
     // 친구 불러오기 (왼쪽 사이드바)
@@ -0,0 +1,16 @@
+package com.sparta.daydeibackrepo.friend.dto;
+
+import lombok.Getter;
+
+// 친구 그래프(FriendGraph) 적재용 : 수락된 친구 관계 하나
+@Getter
+public class FriendPairDto {
+    private Long requestUserId;
+
+    private Long responseUserId;
+
+    public FriendPairDto(Long requestUserId, Long responseUserId) {
+        this.requestUserId = requestUserId;
+        this.responseUserId = responseUserId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sparta.daydeibackrepo.friend.dto;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// 한 유저(viewer)와 여러 유저(target) 사이의 관계를 한 번에 조회한 결과 (RelationMatrixService)
+// 조회하지 않은 target 은 관계 없음 / 0 으로 본다.
+@Getter
+public class RelationMatrix {
+    private final Set<Long> friends = new HashSet<>();
+    // viewer 에게 친구 요청을 보낸 유저
+    private final Set<Long> requestUsers = new HashSet<>();
+    // viewer 가 친구 요청을 보낸 유저
+    private final Set<Long> responseUsers = new HashSet<>();
+    // viewer 가 구독 중인 유저 / 그 중 캘린더에 표시하는 유저
+    private final Set<Long> subscribed = new HashSet<>();
+    private final Set<Long> visible = new HashSet<>();
+    private final Map<Long, Integer> mutualCounts = new HashMap<>();
+
+    public boolean isFriend(Long userId) {
+        return friends.contains(userId);
+    }
+
+    // 친구 요청 방향 (받은 요청 true / 보낸 요청 false / 요청 없음 null)
+    public Boolean isRequestFriend(Long userId) {
+        if (requestUsers.contains(userId)) {
+            return true;
+        }
+        if (responseUsers.contains(userId)) {
+            return false;
+        }
+        return null;
+    }
+
+    public boolean isSubscribed(Long userId) {
+        return subscribed.contains(userId);
+    }
+
+    public boolean isVisible(Long userId) {
+        return visible.contains(userId);
+    }
+
+    public int mutualCount(Long userId) {
+        return mutualCounts.getOrDefault(userId, 0);
+    }
+}
@@ -1,7 +1,9 @@
 package com.sparta.daydeibackrepo.friend.repository;
 
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.sparta.daydeibackrepo.friend.dto.FriendPairDto;
 import com.sparta.daydeibackrepo.friend.entity.Friend;
 import com.sparta.daydeibackrepo.user.entity.QUser;
 import com.sparta.daydeibackrepo.user.entity.User;
@@ -10,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -43,6 +46,15 @@ public class FriendCustomRepositoryImpl implements FriendCustomRepository  {
                 .where((friend.friendRequestId.eq(user1).and(friend.friendResponseId.eq(user2)))
                         .or(friend.friendRequestId.eq(user2).and(friend.friendResponseId.eq(user1))))
                 .fetchFirst() != null;}
+    // 방향 상관없이 친구 관계의 friendCheck (친구 true / 요청 중 false / 관계 없음 null)
+    public Boolean findFriendCheck(User user1, User user2){
+        return jpaQueryFactory
+                .select(friend.friendCheck)
+                .from(friend)
+                .where((friend.friendRequestId.eq(user1).and(friend.friendResponseId.eq(user2)))
+                        .or(friend.friendRequestId.eq(user2).and(friend.friendResponseId.eq(user1))))
+                .fetchFirst();
+    }
     //@Query("SELECT f FROM Friend f WHERE (f.friendRequestId = :user "+" OR f.friendResponseId =:user) "+" AND f.friendCheck = true")
     public List<Friend> findFriends(User user){
         return jpaQueryFactory
@@ -83,12 +95,6 @@ public class FriendCustomRepositoryImpl implements FriendCustomRepository  {
                         .and(friend.friendCheck.eq(false)))
                 .fetch();
     }
-    public List<User> findTagUser(User user1, String searchWord){
-        List<User> friends = findAllFriends(user1);
-        return friends.stream()
-                .filter(user -> user.getEmail().contains(searchWord) || user.getNickName().contains(searchWord))
-                .collect(Collectors.toList());
-    }
     /*public List<User> findAllFriendsBySort(User user, String sort){
         QUser requestUser = new QUser("requestUser");
         QUser responseUser = new QUser("responseUser");
@@ -138,4 +144,34 @@ public class FriendCustomRepositoryImpl implements FriendCustomRepository  {
         }
     return friends;
     }
+    // 친구 그래프 적재용 : 수락된 친구 관계의 양쪽 유저 id
+    public List<FriendPairDto> findAllFriendPairs(){
+        return jpaQueryFactory
+                .select(Projections.constructor(FriendPairDto.class,
+                        friend.friendRequestId.id, friend.friendResponseId.id))
+                .from(friend)
+                .where(friend.friendCheck.eq(true))
+                .fetch();
+    }
+    // userId 와 otherUserIds 사이의 처리 대기중인 친구 요청 (방향 무관)
+    public List<FriendPairDto> findPendingPairs(Long userId, Collection<Long> otherUserIds){
+        return jpaQueryFactory
+                .select(Projections.constructor(FriendPairDto.class,
+                        friend.friendRequestId.id, friend.friendResponseId.id))
+                .from(friend)
+                .where(friend.friendCheck.eq(false)
+                        .and((friend.friendRequestId.id.eq(userId).and(friend.friendResponseId.id.in(otherUserIds)))
+                                .or(friend.friendResponseId.id.eq(userId).and(friend.friendRequestId.id.in(otherUserIds)))))
+                .fetch();
+    }
+    // userId 가 보냈거나 받은 처리 대기중인 친구 요청 전부
+    public List<FriendPairDto> findAllPendingPairs(Long userId){
+        return jpaQueryFactory
+                .select(Projections.constructor(FriendPairDto.class,
+                        friend.friendRequestId.id, friend.friendResponseId.id))
+                .from(friend)
+                .where(friend.friendCheck.eq(false)
+                        .and(friend.friendRequestId.id.eq(userId).or(friend.friendResponseId.id.eq(userId))))
+                .fetch();
+    }
 }
\ No newline at end of file
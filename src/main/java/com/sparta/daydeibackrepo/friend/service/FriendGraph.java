@@ -0,0 +1,219 @@
+package com.sparta.daydeibackrepo.friend.service;
+
+import com.sparta.daydeibackrepo.friend.dto.FriendPairDto;
+import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 친구 관계 그래프 (수락된 친구만) : 유저 id -> 정렬된 친구 id 배열
+// 배열은 바꾸지 않고 변경 시 새 배열로 교체하므로 조회는 잠금 없이 한다.
+// 친구 수락/삭제, 카카오 친구 가져오기에서 커밋 후 반영하고, 다른 WAS 인스턴스의 변경은 주기적으로 다시 적재해서 맞춘다.
+// 다시 적재하는 동안 들어온 변경은 모아 뒀다가 교체 후 다시 적용한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FriendGraph {
+    private static final long[] EMPTY = new long[0];
+
+    private final FriendRepository friendRepository;
+
+    private volatile Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    // 다시 적재하는 중에 반영된 변경 (적재 중이 아니면 null)
+    private List<Runnable> changesDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            swap(loadAdjacency());
+        } finally {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    private Map<Long, long[]> loadAdjacency() {
+        Map<Long, LongList> lists = new HashMap<>();
+        int edges = 0;
+        for (FriendPairDto pair : friendRepository.findAllFriendPairs()) {
+            lists.computeIfAbsent(pair.getRequestUserId(), id -> new LongList()).add(pair.getResponseUserId());
+            lists.computeIfAbsent(pair.getResponseUserId(), id -> new LongList()).add(pair.getRequestUserId());
+            edges++;
+        }
+        Map<Long, long[]> newAdjacency = new ConcurrentHashMap<>();
+        lists.forEach((userId, list) -> newAdjacency.put(userId, list.toSortedDistinctArray()));
+        log.info("FriendGraph loaded. [users={}, friendships={}]", newAdjacency.size(), edges);
+        return newAdjacency;
+    }
+
+    // 읽는 동안 커밋된 변경은 DB 에서 읽은 값에 이미 들어 있을 수도 있으나, 추가/삭제는 두 번 적용해도 같다.
+    private synchronized void swap(Map<Long, long[]> newAdjacency) {
+        adjacency = newAdjacency;
+        changesDuringLoad.forEach(Runnable::run);
+    }
+
+    public boolean areFriends(Long userId1, Long userId2) {
+        return Arrays.binarySearch(neighbors(userId1), userId2) >= 0;
+    }
+
+    public long[] friendsOf(Long userId) {
+        return neighbors(userId).clone();
+    }
+
+    // 정렬된 두 배열의 교집합 크기 : 크기 차이가 크면 작은 쪽을 큰 쪽에서 이분탐색
+    public int mutualCount(Long userId1, Long userId2) {
+        long[] a = neighbors(userId1);
+        long[] b = neighbors(userId2);
+        if (a.length > b.length) {
+            long[] tmp = a;
+            a = b;
+            b = tmp;
+        }
+        if (a.length == 0) {
+            return 0;
+        }
+        int count = 0;
+        if ((long) a.length * 32 < b.length) {
+            for (long id : a) {
+                if (Arrays.binarySearch(b, id) >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // 친구가 된 경우 / 친구를 끊은 경우 : 트랜잭션 안이면 커밋된 뒤에 반영 (롤백되면 그대로)
+    public void addFriend(Long userId1, Long userId2) {
+        afterCommit(() -> {
+            adjacency.put(userId1, insert(neighbors(userId1), userId2));
+            adjacency.put(userId2, insert(neighbors(userId2), userId1));
+        });
+    }
+
+    public void removeFriend(Long userId1, Long userId2) {
+        afterCommit(() -> {
+            put(userId1, delete(neighbors(userId1), userId2));
+            put(userId2, delete(neighbors(userId2), userId1));
+        });
+    }
+
+    private long[] neighbors(Long userId) {
+        long[] friends = userId == null ? null : adjacency.get(userId);
+        return friends == null ? EMPTY : friends;
+    }
+
+    private void put(Long userId, long[] friends) {
+        if (friends.length == 0) {
+            adjacency.remove(userId);
+        } else {
+            adjacency.put(userId, friends);
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 반영. 적재 중이면 교체 후 다시 적용하도록 남겨 둔다.
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                change.run();
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.add(change);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private static long[] insert(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return values;
+        }
+        index = -index - 1;
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static long[] delete(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return values;
+        }
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    // 적재 중에만 쓰는 long 가변 배열
+    private static class LongList {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toSortedDistinctArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
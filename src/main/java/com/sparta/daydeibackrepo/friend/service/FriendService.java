@@ -1,7 +1,9 @@
 package com.sparta.daydeibackrepo.friend.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
+import com.sparta.daydeibackrepo.friend.dto.FriendPairDto;
 import com.sparta.daydeibackrepo.friend.dto.FriendResponseDto;
+import com.sparta.daydeibackrepo.friend.dto.RelationMatrix;
 import com.sparta.daydeibackrepo.friend.entity.Friend;
 import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
 import com.sparta.daydeibackrepo.notification.entity.Notification;
@@ -15,6 +17,9 @@ import com.sparta.daydeibackrepo.user.dto.UserResponseDto;
 import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
 import com.sparta.daydeibackrepo.user.entity.User;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
+import com.sparta.daydeibackrepo.user.service.PopularityLeaderboard;
+import com.sparta.daydeibackrepo.user.service.UserSearchIndex;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
 import com.sparta.daydeibackrepo.util.SortEnum;
@@ -25,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -45,6 +51,15 @@ public class FriendService {
     private final UserSubscribeRepository userSubscribeRepository;
     private final NotificationService notificationService;
     private final PostService postService;
+    private final RelationshipResolver relationshipResolver;
+    private final FriendGraph friendGraph;
+    private final RelationMatrixService relationMatrixService;
+    private final UserSearchIndex userSearchIndex;
+    private final PopularityLeaderboard popularityLeaderboard;
+
+    // 추천 검색 한 페이지 최대 크기
+    private static final int MAX_SEARCH_SIZE = 100;
+    private final CalendarVersionService calendarVersionService;
     @Transactional
     public FriendResponseDto requestFriend(Long userId, UserDetailsImpl userDetails) {
         User requestUser = userRepository.findByEmail(userDetails.getUser().getEmail()).orElseThrow(
@@ -61,6 +76,8 @@ public class FriendService {
         }
         Friend friend = new Friend(requestUser, responseUser, false);
         friendRepository.save(friend);
+        relationshipResolver.evict(requestUser, responseUser);
+        calendarVersionService.bump(requestUser.getId(), responseUser.getId());
         notificationService.send(responseUser.getId() , NotificationType.FRIEND_REQUEST, NotificationType.FRIEND_REQUEST.makeContent(requestUser.getNickName()), requestUser.getId());
         return new FriendResponseDto(friend);
     }
@@ -81,14 +98,19 @@ public class FriendService {
         }
 
         friend.update(requestUser, responseUser, true);
+        relationshipResolver.evict(requestUser, responseUser);
+        friendGraph.addFriend(requestUser.getId(), responseUser.getId());
+        calendarVersionService.bump(requestUser.getId(), responseUser.getId());
         responseUser.addFriendCount();
         requestUser.addFriendCount();
+        popularityLeaderboard.addFriendCount(responseUser.getId(), 1);
+        popularityLeaderboard.addFriendCount(requestUser.getId(), 1);
 
         postService.createBirthday(requestUser, responseUser);
         Notification notification = notificationRepository.findNotification(responseUser, requestUser.getId(),NotificationType.FRIEND_REQUEST);
 
         if (notification != null)
-        {notificationRepository.delete(notification);}
+        {notificationService.delete(notification);}
         notificationService.send(requestUser.getId() , NotificationType.FRIEND_ACCEPT, NotificationType.FRIEND_ACCEPT.makeContent(responseUser.getNickName()), responseUser.getId());
         return new FriendResponseDto(friend);
     }
@@ -113,36 +135,46 @@ public class FriendService {
         else if (friend1 != null){
             postService.deleteBirthday(user1, user2);
             friendRepository.delete(friend1);
+            relationshipResolver.evict(user1, user2);
+            calendarVersionService.bump(user1.getId(), user2.getId());
             if (friend1.getFriendCheck()){
+                friendGraph.removeFriend(user1.getId(), user2.getId());
                 user1.substractFriendCount();
                 user2.substractFriendCount();
+                popularityLeaderboard.addFriendCount(user1.getId(), -1);
+                popularityLeaderboard.addFriendCount(user2.getId(), -1);
                 Notification notification = notificationRepository.findNotification(user1, user2.getId(), NotificationType.FRIEND_ACCEPT);
                 if (notification != null)
-                {notificationRepository.delete(notification);}
+                {notificationService.delete(notification);}
                 return StatusResponseDto.toResponseEntity(FRIEND_DELETE_SUCCESS);
             }
             else {
                 Notification notification = notificationRepository.findNotification(user2, user1.getId(), NotificationType.FRIEND_REQUEST);
                 if (notification != null)
-                {notificationRepository.delete(notification);}
+                {notificationService.delete(notification);}
                 return StatusResponseDto.toResponseEntity(FRIEND_REQUEST_CANCEL_SUCCESS);
             }
         }
         else if (friend2 != null){
             postService.deleteBirthday(user1, user2);
             friendRepository.delete(friend2);
+            relationshipResolver.evict(user1, user2);
+            calendarVersionService.bump(user1.getId(), user2.getId());
             if (friend2.getFriendCheck()){
+                friendGraph.removeFriend(user1.getId(), user2.getId());
                 user1.substractFriendCount();
                 user2.substractFriendCount();
+                popularityLeaderboard.addFriendCount(user1.getId(), -1);
+                popularityLeaderboard.addFriendCount(user2.getId(), -1);
                 Notification notification = notificationRepository.findNotification(user2, user1.getId(), NotificationType.FRIEND_ACCEPT);
                 if (notification != null)
-                {notificationRepository.delete(notification);}
+                {notificationService.delete(notification);}
                 return StatusResponseDto.toResponseEntity(FRIEND_DELETE_SUCCESS);
             }
             else {
                 Notification notification = notificationRepository.findNotification(user1, user2.getId(), NotificationType.FRIEND_REQUEST);
                 if (notification != null)
-                {notificationRepository.delete(notification);}
+                {notificationService.delete(notification);}
                 return StatusResponseDto.toResponseEntity(FRIEND_REQUEST_REJACT_SUCCESS);
             }
         }
@@ -152,7 +184,7 @@ public class FriendService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getRecommendList(List<String> categories, String searchWord, UserDetailsImpl userDetails) {
+    public List<UserResponseDto> getRecommendList(List<String> categories, String searchWord, int page, int size, UserDetailsImpl userDetails) {
         User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
@@ -160,27 +192,43 @@ public class FriendService {
         for (String category : categories) {
             categoryEnums.add(CategoryEnum.valueOf(category.toUpperCase()));
         }
-        List<User> recommendList = userRepository.findRecommmedList(searchWord, user, categoryEnums);
-        List<UserResponseDto> recommendResponseList = makeUserResponseDtos(user, recommendList).stream()
-                .filter(userResponseDto -> !userResponseDto.getUserSubscribeCheck() && !userResponseDto.getFriendCheck() && userResponseDto.getIsRequestFriend() == null)
-                .collect(Collectors.toList());
         // 특정 조건에 따라 주기적으로 sorting하는 함수 개발 필요
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
         boolean isEven = Integer.parseInt(LocalDate.now().format(formatter)) % 2 == 0;
-        if (isEven){
-            Collections.sort(recommendResponseList, (o1, o2) -> o2.getFriendCount() - o1.getFriendCount());
+        PopularityLeaderboard.Metric metric = isEven ? PopularityLeaderboard.Metric.FRIEND : PopularityLeaderboard.Metric.SUBSCRIBER;
+        // 본인, 친구, 구독 중인 유저, 친구 요청을 주고받는 중인 유저는 자르기 전에 뺀다. (페이지가 덜 차지 않음)
+        // 검색어가 없으면 카테고리별 인기 순위에서 바로, 있으면 검색어/카테고리로 거른 유저 전체를 인기 순으로 잘라옴
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_SIZE);
+        int offset = Math.max(page, 0) * limit;
+        Set<Long> excluded = findRecommendExcluded(user);
+        List<Long> recommendIds = StringUtils.hasText(searchWord)
+                ? popularityLeaderboard.topAmong(metric,
+                        userSearchIndex.match(searchWord, UserSearchIndex.Filter.all().categories(categoryEnums).exclude(excluded)),
+                        offset, limit)
+                : popularityLeaderboard.top(metric, categoryEnums, excluded, offset, limit);
+        return makeUserResponseDtos(user, findAllByIdInOrder(recommendIds));
+    }
+
+    // 추천에서 뺄 유저 id : 본인, 친구(FriendGraph), 구독 중인 유저, 대기중인 친구 요청의 상대 (id 만 읽는 쿼리 2번)
+    private Set<Long> findRecommendExcluded(User user) {
+        Set<Long> excluded = new HashSet<>();
+        excluded.add(user.getId());
+        for (long friendId : friendGraph.friendsOf(user.getId())) {
+            excluded.add(friendId);
         }
-        else {
-            Collections.sort(recommendResponseList, (o1, o2) -> o2.getSubscriberCount() - o1.getSubscriberCount());
+        excluded.addAll(userSubscribeRepository.findSubscriberIds(user.getId()));
+        for (FriendPairDto pair : friendRepository.findAllPendingPairs(user.getId())) {
+            excluded.add(pair.getRequestUserId());
+            excluded.add(pair.getResponseUserId());
         }
-        return recommendResponseList;
+        return excluded;
     }
     @Transactional(readOnly = true)
     public List<UserResponseDto> getUpdateFriend(UserDetailsImpl userDetails){
         User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(USER_NOT_FOUND)
         );
-        List<User> updateUsers = postRepository.findAllUpdateFriend(user);
+        List<User> updateUsers = postRepository.findAllUpdateFriend(user, friendGraph.friendsOf(user.getId()));
 
         List<UserResponseDto> updateList = makeUserResponseDtos(user,updateUsers);
         return updateList.stream().limit(10).collect(Collectors.toList());
@@ -191,10 +239,10 @@ public class FriendService {
         User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
-        List<User> users = userRepository.findFamousList(user);
-        List<UserResponseDto> famousList = makeUserResponseDtos(user, users);
-        Collections.sort(famousList, Comparator.comparing(UserResponseDto::getSubscriberCount).reversed());
-        return famousList.stream().limit(3).collect(Collectors.toList());
+        // 같은 카테고리 유저 중 구독자 수 상위 3명 (카테고리가 없으면 전체)
+        List<Long> famousIds = popularityLeaderboard.top(PopularityLeaderboard.Metric.SUBSCRIBER,
+                user.getCategoryEnum(), Set.of(user.getId()), 0, 3);
+        return makeUserResponseDtos(user, findAllByIdInOrder(famousIds));
     }
     @Transactional(readOnly = true)
     public List<UserResponseDto> getPendingResponseList(UserDetailsImpl userDetails) {
@@ -207,48 +255,27 @@ public class FriendService {
         return pendingResponseList;
     }
     // 유저 본인(user)과 유저 리스트(users) 사이의 친구 상태, 구독 관계 등을 뽑아서 List<UserResponseDto>로 반환합니다.
+    // 관계는 RelationMatrixService 로 목록 전체를 한 번에 조회합니다.
     public List<UserResponseDto> makeUserResponseDtos(User user, List<User> users){
         List<UserResponseDto> userResponseDtos = new ArrayList<>();
         if (users==null){
             return userResponseDtos;
         }
 
-        List<User> userSubscribers = userSubscribeRepository.findAllSubscriberUser(user);
-        List<User> friends = friendRepository.findAllFriends(user);
-        List<User> responseUsers = friendRepository.findResponseUser(user);
-        List<User> requestUsers = friendRepository.findRequestUser(user);
-        List<User> visibleList = userSubscribeRepository.findVisibleUserSubscribe(user);
+        List<Long> userIds = new ArrayList<>();
+        for (User user1 : users){
+            userIds.add(user1.getId());
+        }
+        RelationMatrix relations = relationMatrixService.load(user, userIds);
         for (User user1 : users){
-            List<User> mutualFriends = friendRepository.findAllFriends(user1);
-            mutualFriends.retainAll(friends);
-            boolean friendCheck = false;
-            boolean userSubscribeCheck = false;
             boolean updateCheck = false;
-            boolean isVisible = false;
-            if (friends.contains(user1)) {
-                friendCheck = true;
-            }
-            if (userSubscribers.contains(user1)) {
-                userSubscribeCheck = true;
-                if (visibleList.contains(user1)){
-                    isVisible = true;
-                }
-            }
-            if(friendCheck) {
+            if(relations.isFriend(user1.getId())) {
                 if (user.getFriendUpdateCheck()) {updateCheck = true;}
             }
             else{
                 if (user.getUserUpdateCheck()) {updateCheck = true;}
             }
-            if (requestUsers.contains(user1)) {
-                    userResponseDtos.add(new UserResponseDto(user1, friendCheck, true, userSubscribeCheck, updateCheck, mutualFriends, isVisible));
-            }
-            else if (responseUsers.contains(user1)) {
-                    userResponseDtos.add(new UserResponseDto(user1, friendCheck, false, userSubscribeCheck, updateCheck, mutualFriends, isVisible));
-            }
-            else {
-                    userResponseDtos.add(new UserResponseDto(user1, friendCheck, userSubscribeCheck, updateCheck, mutualFriends, isVisible));
-            }
+            userResponseDtos.add(new UserResponseDto(user1, relations, updateCheck));
         }
 
         return userResponseDtos;
@@ -262,10 +289,36 @@ public class FriendService {
                 () -> new CustomException(USER_NOT_FOUND)
         );
 
-        List<User> friends = friendRepository.findAllFriendsBySort(master, SortEnum.valueOf(sort.toUpperCase()));
-        List<UserResponseDto> friendList = makeUserResponseDtos(master, friends).stream()
-                .filter(user -> user.getNickName().contains(searchWord) || user.getEmail().contains(searchWord)).collect(Collectors.toList());
-        return friendList;
+        List<User> friends = filterBySearchWord(friendRepository.findAllFriendsBySort(master, SortEnum.valueOf(sort.toUpperCase())), searchWord);
+        return makeUserResponseDtos(master, friends);
+    }
+
+    // 정렬된 목록에서 검색어가 닉네임/이메일에 들어있는 유저만 (순서 유지)
+    public List<User> filterBySearchWord(List<User> users, String searchWord) {
+        if (searchWord == null || searchWord.isEmpty()) {
+            return users;
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (User user : users) {
+            userIds.add(user.getId());
+        }
+        Set<Long> matched = userSearchIndex.match(searchWord, UserSearchIndex.Filter.all().within(userIds));
+        return users.stream().filter(user -> matched.contains(user.getId())).collect(Collectors.toList());
+    }
+
+    private List<User> findAllByIdInOrder(List<Long> userIds) {
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        List<User> result = new ArrayList<>();
+        for (Long userId : userIds) {
+            User user = users.get(userId);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
     }
 
     @Transactional(readOnly = true)
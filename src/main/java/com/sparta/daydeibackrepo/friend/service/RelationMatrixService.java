@@ -0,0 +1,58 @@
+package com.sparta.daydeibackrepo.friend.service;
+
+import com.sparta.daydeibackrepo.friend.dto.FriendPairDto;
+import com.sparta.daydeibackrepo.friend.dto.RelationMatrix;
+import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserSubscribeStateDto;
+import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+// viewer 와 유저 목록 사이의 친구/요청/구독 상태, 함께 아는 친구 수를 한 번에 조회
+// 친구 여부와 함께 아는 친구 수는 FriendGraph 에서, 나머지는 목록 크기와 상관없이 쿼리 2번 (요청, 구독 상태)
+// 구독/구독자 수는 users 의 카운터 컬럼에서 바로 읽는다.
+@Service
+@RequiredArgsConstructor
+public class RelationMatrixService {
+    private final FriendRepository friendRepository;
+    private final UserSubscribeRepository userSubscribeRepository;
+    private final FriendGraph friendGraph;
+
+    @Transactional(readOnly = true)
+    public RelationMatrix load(User viewer, Collection<Long> userIds) {
+        RelationMatrix matrix = new RelationMatrix();
+        Set<Long> targetIds = new LinkedHashSet<>(userIds);
+        if (targetIds.isEmpty()) {
+            return matrix;
+        }
+        Long viewerId = viewer.getId();
+
+        for (Long targetId : targetIds) {
+            if (friendGraph.areFriends(viewerId, targetId)) {
+                matrix.getFriends().add(targetId);
+            }
+            matrix.getMutualCounts().put(targetId, friendGraph.mutualCount(viewerId, targetId));
+        }
+        for (FriendPairDto pair : friendRepository.findPendingPairs(viewerId, targetIds)) {
+            if (Objects.equals(pair.getResponseUserId(), viewerId)) {
+                matrix.getRequestUsers().add(pair.getRequestUserId());
+            } else {
+                matrix.getResponseUsers().add(pair.getResponseUserId());
+            }
+        }
+        for (UserSubscribeStateDto state : userSubscribeRepository.findSubscribeStates(viewerId, targetIds)) {
+            matrix.getSubscribed().add(state.getUserId());
+            if (Boolean.TRUE.equals(state.getIsVisible())) {
+                matrix.getVisible().add(state.getUserId());
+            }
+        }
+        return matrix;
+    }
+}
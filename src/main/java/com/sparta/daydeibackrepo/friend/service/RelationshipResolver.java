@@ -0,0 +1,113 @@
+package com.sparta.daydeibackrepo.friend.service;
+
+import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// viewer -> owner 관계를 비트마스크로 반환 (캘린더/일정 조회 권한 판단용)
+// 결과는 (viewer, owner) 단위로 캐시하고, 친구/구독 변경 시 FriendService, UserSubscribeService 에서 evict 한다.
+// 다른 WAS 인스턴스의 변경은 TTL 이 지나면 반영된다.
+@Component
+@RequiredArgsConstructor
+public class RelationshipResolver {
+    public static final int NONE = 0;
+    public static final int SELF = 1;        // 본인
+    public static final int FRIEND = 1 << 1; // 친구
+    public static final int SUBSCRIBER = 1 << 2; // viewer 가 owner 를 구독중
+    public static final int PENDING = 1 << 3;    // 친구 요청 처리 대기중 (방향 무관)
+
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL_MILLIS = 60 * 1000L;
+
+    private final FriendRepository friendRepository;
+    private final UserSubscribeRepository userSubscribeRepository;
+
+    // access-order LinkedHashMap : 가장 오래 안 쓴 항목부터 제거
+    private final Map<Key, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    public int resolve(User viewer, User owner) {
+        if (Objects.equals(viewer.getId(), owner.getId())) {
+            return SELF;
+        }
+        Key key = new Key(viewer.getId(), owner.getId());
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.relation;
+            }
+        }
+        int relation = load(viewer, owner);
+        synchronized (cache) {
+            cache.put(key, new Entry(relation, now + TTL_MILLIS));
+        }
+        return relation;
+    }
+
+    public static boolean isSelf(int relation) {
+        return (relation & SELF) != 0;
+    }
+
+    public static boolean isFriend(int relation) {
+        return (relation & FRIEND) != 0;
+    }
+
+    // 본인이거나 친구
+    public static boolean isSelfOrFriend(int relation) {
+        return (relation & (SELF | FRIEND)) != 0;
+    }
+
+    // 두 유저 사이의 관계가 바뀌었을 때 호출 (양방향 모두 제거)
+    // 트랜잭션 커밋 전에 다른 요청이 옛 관계를 다시 캐시할 수 있으므로 커밋 후에 한 번 더 제거한다.
+    public void evict(User user1, User user2) {
+        evict(user1.getId(), user2.getId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long userId1 = user1.getId();
+            Long userId2 = user2.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId1, userId2);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId1, Long userId2) {
+        synchronized (cache) {
+            cache.remove(new Key(userId1, userId2));
+            cache.remove(new Key(userId2, userId1));
+        }
+    }
+
+    private int load(User viewer, User owner) {
+        int relation = NONE;
+        Boolean friendCheck = friendRepository.findFriendCheck(viewer, owner);
+        if (friendCheck != null) {
+            relation |= friendCheck ? FRIEND : PENDING;
+        }
+        if (userSubscribeRepository.findBySubscribingIdAndSubscriberId(viewer, owner) != null) {
+            relation |= SUBSCRIBER;
+        }
+        return relation;
+    }
+
+    private record Key(Long viewerId, Long ownerId) {
+    }
+
+    private record Entry(int relation, long expiresAt) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.sparta.daydeibackrepo.lease.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @Scheduled 작업(또는 ApplicationReadyEvent 로 시작 시 한 번 도는 작업)에 같이 붙이면 lease 를 가진 WAS 한 대에서만 실행된다.
+// leaseSeconds 는 실행 주기보다 길게 잡는다. (실행권을 가진 WAS 가 죽으면 이 시간 뒤에 다른 WAS 가 이어받음)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ScheduledWithLease {
+    String name();
+
+    long leaseSeconds();
+}
@@ -0,0 +1,37 @@
+package com.sparta.daydeibackrepo.lease.aop;
+
+import com.sparta.daydeibackrepo.lease.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// lease 를 먼저 잡고, 잡았을 때만 작업(과 작업의 @Transactional)을 실행
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ScheduledWithLeaseAspect {
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Around("@annotation(scheduledWithLease)")
+    public Object runWithLease(ProceedingJoinPoint joinPoint, ScheduledWithLease scheduledWithLease) throws Throwable {
+        boolean acquired;
+        try {
+            acquired = schedulerLeaseService.tryAcquire(scheduledWithLease.name(), scheduledWithLease.leaseSeconds());
+        } catch (RuntimeException e) {
+            log.warn("Scheduler lease acquire failed. [name={}]", scheduledWithLease.name(), e);
+            return null;
+        }
+        if (!acquired) {
+            log.debug("Scheduler lease held by another node. [name={}]", scheduledWithLease.name());
+            return null;
+        }
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,25 @@
+package com.sparta.daydeibackrepo.lease.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 스케줄 작업별 실행권 : leasedUntil 이 지나기 전까지는 owner WAS 만 작업을 돌린다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "leased_until", nullable = false)
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,28 @@
+package com.sparta.daydeibackrepo.lease.repository;
+
+import com.sparta.daydeibackrepo.lease.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+// 시각 비교는 WAS 간 시계 차이가 없도록 DB 시계(NOW())로 한다.
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 내가 들고 있거나 만료된 lease 를 가져가면서 연장 (1 이면 성공)
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease SET owner = :owner, leased_until = TIMESTAMPADD(SECOND, :seconds, NOW()) " +
+            "WHERE name = :name AND (owner = :owner OR leased_until < NOW())", nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // 처음 쓰는 작업이면 행을 만들면서 가져감 (다른 WAS 가 먼저 만들었으면 0)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_lease (name, owner, leased_until) " +
+            "VALUES (:name, :owner, TIMESTAMPADD(SECOND, :seconds, NOW()))", nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // 종료 시 들고 있던 lease 를 바로 넘겨줌
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease SET leased_until = NOW() WHERE owner = :owner", nativeQuery = true)
+    int releaseAll(@Param("owner") String owner);
+}
@@ -0,0 +1,67 @@
+package com.sparta.daydeibackrepo.lease.service;
+
+import com.sparta.daydeibackrepo.lease.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+// WAS 두 대(8081/8082)가 같은 스케줄 작업을 한 번씩만 돌도록 DB lease 로 실행권을 나눈다.
+// 실행권을 가진 WAS 는 매 실행마다 lease 를 연장하고, 죽으면 lease 가 만료된 뒤 다른 WAS 가 가져간다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${server.port:8080}")
+    private String port;
+
+    private String owner;
+
+    @PostConstruct
+    public void init() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        owner = host + ":" + port + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // 작업을 감싼 트랜잭션과 상관없이 바로 커밋해야 다른 WAS 가 볼 수 있다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, long leaseSeconds) {
+        if (schedulerLeaseRepository.acquire(name, owner, leaseSeconds) > 0) {
+            return true;
+        }
+        return schedulerLeaseRepository.create(name, owner, leaseSeconds) > 0;
+    }
+
+    // 배포 전환으로 내려갈 때 lease 를 바로 풀어서 새 WAS 가 기다리지 않고 이어받게 함
+    // (@PreDestroy 는 프록시를 거치지 않으므로 TransactionTemplate 으로 감쌈)
+    @PreDestroy
+    public void releaseAll() {
+        try {
+            Integer released = transactionTemplate.execute(status -> schedulerLeaseRepository.releaseAll(owner));
+            log.info("Scheduler leases released. [owner={}, leases={}]", owner, released);
+        } catch (RuntimeException e) {
+            log.warn("Scheduler lease release failed. [owner={}]", owner, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sparta.daydeibackrepo.mail.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 메일 발송 대기열 : 비즈니스 트랜잭션 안에서 한 줄 쓰고, 커밋 이후 MailDispatcher 가 모아서 보낸다.
+// 보내면 행을 지우고, 실패하면 attempts 를 올려 nextAttemptAt 까지 미룬다. 최대 횟수를 넘기면 failed 로 남긴다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "mail_outbox",
+        indexes = {
+                @Index(name = "idx_mail_outbox_next_attempt", columnList = "failed, next_attempt_at"),
+                @Index(name = "idx_mail_outbox_claim_token", columnList = "claim_token")
+        })
+public class MailOutbox {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 발송 중인 WAS 가 잡아둔 표시 (claimedAt 이 오래되면 다른 WAS 가 다시 가져감)
+    @Column(name = "claim_token")
+    private String claimToken;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(nullable = false)
+    private Boolean failed;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,9 @@
+package com.sparta.daydeibackrepo.mail.repository;
+
+import com.sparta.daydeibackrepo.mail.dto.MailDto;
+
+import java.util.Collection;
+
+public interface MailOutboxCustomRepository {
+    void bulkInsert(Collection<MailDto> mails);
+}
@@ -0,0 +1,32 @@
+package com.sparta.daydeibackrepo.mail.repository;
+
+import com.sparta.daydeibackrepo.mail.dto.MailDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class MailOutboxCustomRepositoryImpl implements MailOutboxCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // 일정 알림처럼 한 번에 많이 쌓이는 경우가 있어 JDBC batch 로 넣음
+    public void bulkInsert(Collection<MailDto> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (MailDto mail : mails) {
+            batchArgs.add(new Object[]{mail.getEmail(), mail.getSubject(), mail.getMessage(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO mail_outbox (email, subject, content, attempts, next_attempt_at, failed, created_at) " +
+                "VALUES (?, ?, ?, 0, ?, false, ?)", batchArgs);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sparta.daydeibackrepo.mail.repository;
+
+import com.sparta.daydeibackrepo.mail.entity.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long>, MailOutboxCustomRepository {
+
+    // 보낼 차례가 된 메일을 limit 개까지 token 으로 잡아둠 (잡아둔 지 오래된 메일은 다시 가져감)
+    @Modifying
+    @Query(value = "UPDATE mail_outbox SET claim_token = :token, claimed_at = :now " +
+            "WHERE failed = false AND next_attempt_at <= :now " +
+            "AND (claim_token IS NULL OR claimed_at < :staleBefore) " +
+            "ORDER BY id LIMIT :limit", nativeQuery = true)
+    int claim(@Param("token") String token, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore, @Param("limit") int limit);
+
+    List<MailOutbox> findAllByClaimToken(String claimToken);
+
+    // 발송 실패 : 잡아둔 것을 풀고 다음 시도 시각을 미룸
+    @Modifying
+    @Query("update MailOutbox m set m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.failed = :failed, m.claimToken = null, m.claimedAt = null where m.id in :ids")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("failed") boolean failed);
+
+    @Query("select count(m) from MailOutbox m where m.failed = false")
+    long countPending();
+}
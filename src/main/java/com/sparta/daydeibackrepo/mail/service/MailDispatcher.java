@@ -0,0 +1,151 @@
+package com.sparta.daydeibackrepo.mail.service;
+
+import com.sparta.daydeibackrepo.mail.entity.MailOutbox;
+import com.sparta.daydeibackrepo.mail.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 메일 대기열(MailOutbox) 발송기
+// 커밋 직후 wakeUp 으로 깨우고, 재시도/다른 WAS 에서 쌓인 메일은 주기적으로 한 번 더 훑는다.
+// 발송은 스레드 하나에서만 하고(대기 작업도 하나까지만, 나머지 깨우기는 버림) 배치마다 SMTP 연결 하나로 보낸다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailDispatcher {
+    private static final int BATCH_SIZE = 50;
+    // 재시도 횟수와 백오프는 MailDispatcherTest 에서도 기준으로 씀
+    static final int MAX_ATTEMPTS = 6;
+    static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 60 * 60;
+    // 잡아둔 채로 이 시간이 지나면 발송 중 WAS 가 죽은 것으로 보고 다시 가져감
+    private static final long CLAIM_TIMEOUT_MINUTES = 10;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> new Thread(runnable, "mail-dispatcher"),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    private String sender;
+
+    public void wakeUp() {
+        executor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelay = 30 * 1000L, initialDelay = 30 * 1000L)
+    public void poll() {
+        wakeUp();
+    }
+
+    // 대기 중인 메일 수 (발송 실패로 포기한 메일 제외)
+    public long getQueueDepth() {
+        return mailOutboxRepository.countPending();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void drain() {
+        try {
+            int sent;
+            do {
+                sent = dispatchBatch();
+            } while (sent == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Mail dispatch failed.", e);
+        }
+    }
+
+    // 한 배치를 잡아서 보내고 잡은 개수를 돌려줌
+    private int dispatchBatch() {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> mails = transactionTemplate.execute(status -> {
+            int claimed = mailOutboxRepository.claim(token, now, now.minusMinutes(CLAIM_TIMEOUT_MINUTES), BATCH_SIZE);
+            return claimed == 0 ? Collections.<MailOutbox>emptyList() : mailOutboxRepository.findAllByClaimToken(token);
+        });
+        if (mails == null || mails.isEmpty()) {
+            return 0;
+        }
+
+        // 메시지와 대기열 행은 같은 순서의 목록으로 짝지음
+        // (SimpleMailMessage 는 값으로 비교하므로 같은 내용의 행 두 개를 Map 키로 쓰면 하나로 합쳐짐)
+        List<SimpleMailMessage> messages = new ArrayList<>(mails.size());
+        for (MailOutbox mail : mails) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getEmail());
+            message.setFrom(sender);
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getContent());
+            messages.add(message);
+        }
+
+        List<MailOutbox> failed = new ArrayList<>();
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // 메시지별 실패 목록이 있으면 그것만, 없으면(연결 실패 등) 배치 전체를 실패로 본다.
+            // 실패 목록도 메시지 값으로 묶여 있으므로 같은 내용의 행은 모두 실패로 보고 다시 보낸다.
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(mails);
+            } else {
+                Set<Object> failedMessages = e.getFailedMessages().keySet();
+                for (int i = 0; i < mails.size(); i++) {
+                    if (failedMessages.contains(messages.get(i))) {
+                        failed.add(mails.get(i));
+                    }
+                }
+            }
+            log.warn("Mail batch partially failed. [batch={}, failed={}]", mails.size(), failed.size(), e);
+        } catch (MailException e) {
+            failed.addAll(mails);
+            log.warn("Mail batch failed. [batch={}]", mails.size(), e);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        for (MailOutbox mail : mails) {
+            if (!failed.contains(mail)) {
+                sentIds.add(mail.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            mailOutboxRepository.deleteAllByIdInBatch(sentIds);
+            retryLater(failed, now);
+        });
+        return mails.size();
+    }
+
+    // 시도 횟수별로 묶어서 지수 백오프 (30초, 1분, 2분 ... 최대 1시간)
+    private void retryLater(List<MailOutbox> failed, LocalDateTime now) {
+        Map<Integer, List<Long>> byAttempts = new HashMap<>();
+        for (MailOutbox mail : failed) {
+            byAttempts.computeIfAbsent(mail.getAttempts() + 1, attempts -> new ArrayList<>()).add(mail.getId());
+        }
+        for (Map.Entry<Integer, List<Long>> entry : byAttempts.entrySet()) {
+            int attempts = entry.getKey();
+            long backoff = Math.min(BASE_BACKOFF_SECONDS << Math.min(attempts - 1, 20), MAX_BACKOFF_SECONDS);
+            mailOutboxRepository.reschedule(entry.getValue(), now.plusSeconds(backoff), attempts >= MAX_ATTEMPTS);
+        }
+        if (!failed.isEmpty()) {
+            log.info("Mail outbox depth. [pending={}]", getQueueDepth());
+        }
+    }
+}
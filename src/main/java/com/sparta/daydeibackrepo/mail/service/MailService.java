@@ -1,35 +1,47 @@
 package com.sparta.daydeibackrepo.mail.service;
 
 import com.sparta.daydeibackrepo.mail.dto.MailDto;
+import com.sparta.daydeibackrepo.mail.repository.MailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
+
+// 메일은 바로 보내지 않고 대기열(MailOutbox)에 쌓는다. 호출한 트랜잭션과 같이 커밋/롤백되고,
+// 커밋 이후 MailDispatcher 가 SMTP 로 보낸다. (SMTP 지연 동안 DB 커넥션을 잡고 있지 않도록)
 @Service
 @RequiredArgsConstructor
 public class MailService {
-    private final JavaMailSender mailSender;
-
-    private String sender;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailDispatcher mailDispatcher;
 
-    public void sendFindPasswordMail(MailDto mailDto) throws MailException {
-        SimpleMailMessage message = new SimpleMailMessage();
+    @Transactional
+    public void sendFindPasswordMail(MailDto mailDto) {
+        mailDto.setSubject(String.format("%S님의 비밀번호가 재설정되었습니다.", mailDto.getName()));
+        enqueue(List.of(mailDto));
+    }
 
-        message.setTo(mailDto.getEmail());
-        message.setFrom(sender);
-        message.setSubject(String.format("%S님의 비밀번호가 재설정되었습니다.", mailDto.getName()));
-        message.setText(mailDto.getMessage());
-        mailSender.send(message);
+    @Transactional
+    public void sendScheduleNotifyMails(List<MailDto> mailDtos) {
+        for (MailDto mailDto : mailDtos) {
+            mailDto.setSubject(String.format("%S 일정이 곧 시작합니다.", mailDto.getName()));
+        }
+        enqueue(mailDtos);
     }
-    public void sendScheduleNotifyMail(MailDto mailDto) throws MailException {
-        SimpleMailMessage message = new SimpleMailMessage();
 
-        message.setTo(mailDto.getEmail());
-        message.setFrom(sender);
-        message.setSubject(String.format("%S 일정이 한 시간 후에 시작합니다.", mailDto.getName()));
-        message.setText(mailDto.getMessage());
-        mailSender.send(message);
+    private void enqueue(List<MailDto> mailDtos) {
+        if (mailDtos.isEmpty()) {
+            return;
+        }
+        mailOutboxRepository.bulkInsert(mailDtos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mailDispatcher.wakeUp();
+            }
+        });
     }
 }
@@ -10,9 +10,10 @@ import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
 import static com.sparta.daydeibackrepo.exception.message.SuccessMessage.NOTIFICATION_DELETED;
 
@@ -26,17 +27,14 @@ public class NotificationController {
 
     @GetMapping(value = "/api/connect", produces = "text/event-stream")
     @ResponseStatus(HttpStatus.OK)
-    public SseEmitter subscribe(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails,
-                                @RequestHeader(value = "Last-Event-ID", required = false, defaultValue = "") String lastEventId) {
-        log.info(userDetails.getUser().getId().toString());
-        log.info(userDetails.toString());
-        log.info(lastEventId);
-        log.error("error", notificationService.connect(userDetails.getUser().getId(), lastEventId));
-        return notificationService.connect(userDetails.getUser().getId(), lastEventId);
+    public Flux<ServerSentEvent<Object>> subscribe(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                   @RequestHeader(value = "Last-Event-ID", required = false, defaultValue = "") String lastEventId) {
+        return notificationService.connect(userDetails.getUser(), lastEventId);
     }
     @GetMapping("/api/notification")
-    public StatusResponseDto<NotificationGetDto> getNotification(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        return StatusResponseDto.success(notificationService.findAllNotifications(userDetails.getUser().getId()));
+    public StatusResponseDto<NotificationGetDto> getNotification(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                                 @RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int size) {
+        return StatusResponseDto.success(notificationService.findAllNotifications(userDetails.getUser().getId(), cursor, size));
     }
     @DeleteMapping("/api/notification/{userId}")
     public StatusResponseDto<SuccessMessage> deleteNotification(@PathVariable Long userId, @Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails){
@@ -0,0 +1,24 @@
+package com.sparta.daydeibackrepo.notification.dto;
+
+import com.sparta.daydeibackrepo.notification.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 알림 버스(DB 폴링)에서 읽는 알림 : 보낼 값만 (receiver 엔티티를 읽지 않음)
+@Getter
+@AllArgsConstructor
+public class NotificationBusDto {
+    private Long id;
+    private Long receiverId;
+    private NotificationType notificationType;
+    private String content;
+    private Long returnId;
+    private Boolean isRead;
+    private LocalDateTime createdAt;
+
+    public NotificationResponseDto toResponseDto() {
+        return NotificationResponseDto.of(id, content, notificationType, returnId, isRead, createdAt);
+    }
+}
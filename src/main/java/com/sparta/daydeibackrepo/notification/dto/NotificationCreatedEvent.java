@@ -0,0 +1,19 @@
+package com.sparta.daydeibackrepo.notification.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 알림 저장 후 발행 : 커밋되면 NotificationDispatcher 가 받는 사람별로 SSE 전송
+@Getter
+public class NotificationCreatedEvent {
+    private final List<Long> receiverIds;
+
+    private final List<NotificationResponseDto> notifications;
+
+    // receiverIds.get(i) 가 notifications.get(i) 를 받는다.
+    public NotificationCreatedEvent(List<Long> receiverIds, List<NotificationResponseDto> notifications) {
+        this.receiverIds = receiverIds;
+        this.notifications = notifications;
+    }
+}
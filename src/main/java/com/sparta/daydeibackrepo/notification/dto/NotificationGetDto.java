@@ -13,4 +13,6 @@ import java.util.List;
 public class NotificationGetDto {
     private Long count;
     private List<NotificationDto> notificationDtos = new ArrayList<>();
+    // 다음 페이지 요청 시 cursor (마지막 페이지면 null)
+    private Long nextCursor;
 }
@@ -1,6 +1,7 @@
 package com.sparta.daydeibackrepo.notification.dto;
 
 import com.sparta.daydeibackrepo.notification.entity.Notification;
+import com.sparta.daydeibackrepo.notification.entity.NotificationType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -27,5 +28,18 @@ public class NotificationResponseDto {
         return new NotificationResponseDto(notification.getId(), notification.getContent(),
                 postId, userId, notification.getIsRead(), notification.getCreatedAt());
     }
+
+    // returnId 를 알림 종류에 따라 userId / postId 로 나눠 담음
+    public static NotificationResponseDto from(Notification notification) {
+        return of(notification.getId(), notification.getContent(), notification.getNotificationType(),
+                notification.getReturnId(), notification.getIsRead(), notification.getCreatedAt());
+    }
+
+    public static NotificationResponseDto of(Long id, String content, NotificationType notificationType, Long returnId, Boolean isRead, LocalDateTime createdAt) {
+        if (NotificationType.userContent().contains(notificationType)) {
+            return new NotificationResponseDto(id, content, null, returnId, isRead, createdAt);
+        }
+        return new NotificationResponseDto(id, content, returnId, null, isRead, createdAt);
+    }
 }
 
@@ -8,7 +8,7 @@ public enum NotificationType {
     JOIN_REQUEST("님의 @ 일정 참여 요청이 도착하였습니다."), JOIN_REJECT("님이 @ 회원님의 일정 참여 요청을 거절하였습니다."),
     JOIN_UPDATE_REQUEST("님과의 @ 일정이 수정되었습니다."), JOIN_DELETE_REQUEST("님과의 @ 일정이 삭제되었습니다."),
     FRIEND_REQUEST("님이 @ 회원님께 친구 신청을 보냈습니다."), JOIN_ACCEPT("님이 @ 회원님의 일정 참여 요청을 수락하였습니다."),
-    SCHEDULE_NOTIFY(" @ 일정이 한 시간 후에 시작됩니다.");
+    SCHEDULE_NOTIFY(" @ 일정이 %s 후에 시작됩니다.");
 
     private String content;
 
@@ -20,6 +20,11 @@ public enum NotificationType {
         return "'" + title + "'" + content;
     }
 
+    // 내용에 %s 자리가 있는 알림 (SCHEDULE_NOTIFY : 남은 시간)
+    public String makeContent(String title, Object... args) {
+        return "'" + title + "'" + String.format(content, args);
+    }
+
     public static List<NotificationType> userContent() {
         List<NotificationType> notificationTypes = new ArrayList<>();
         notificationTypes.add(FRIEND_ACCEPT);
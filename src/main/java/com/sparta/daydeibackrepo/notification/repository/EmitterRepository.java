@@ -1,15 +1,41 @@
 package com.sparta.daydeibackrepo.notification.repository;
 
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.sparta.daydeibackrepo.notification.dto.NotificationResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.util.Map;
+import java.util.List;
 
 public interface EmitterRepository {
-    SseEmitter save(String emitterId, SseEmitter sseEmitter);
-    void saveEventCache(String emitterId, Object event);
-    Map<String, SseEmitter> findAllEmitterStartWithByUserId(String userId);
-    Map<String, Object> findAllEventCacheStartWithByUserId(String userId);
-    void deleteById(String id);
-    void deleteAllEmitterStartWithId(String userId);
-    void deleteAllEventCacheStartWithId(String userId);
+    // 연결 추가 (유저당 최대 연결 수를 넘으면 가장 오래된 연결을 닫음)
+    Connection save(Long userId);
+    // 연결이 없으면 빈 목록
+    List<Connection> findAllByUserId(Long userId);
+    boolean hasConnection(Long userId);
+    void deleteById(Long userId, Connection connection);
+
+    // SSE 연결 하나 : 연결마다 sink 를 따로 두고, close 신호가 오면 끝난다.
+    // 구독 전에 emit 된 알림은 sink 큐에 남아 있다가 구독하면 나가므로 연결 직후 놓친 알림 조회와 사이에 빈틈이 없다.
+    class Connection {
+        private final Sinks.Many<NotificationResponseDto> sink = Sinks.many().unicast().onBackpressureBuffer();
+        private final Sinks.Empty<Void> close = Sinks.empty();
+
+        // 같은 유저의 emit 은 NotificationDispatcher 의 한 스레드에서만 하므로 동시에 emit 되지 않음
+        public void emit(NotificationResponseDto data) {
+            sink.tryEmitNext(data);
+        }
+
+        public Flux<NotificationResponseDto> asFlux() {
+            return sink.asFlux();
+        }
+
+        public Mono<Void> closed() {
+            return close.asMono();
+        }
+
+        public void close() {
+            close.tryEmitEmpty();
+        }
+    }
 }
@@ -2,67 +2,57 @@ package com.sparta.daydeibackrepo.notification.repository;
 
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+// 유저 id -> 열린 연결 목록 (연결된 순서)
+// 목록 변경은 compute 안에서만 하고, 전송 쪽은 CopyOnWriteArrayList 를 잠금 없이 읽는다.
+// 연결이 모두 끊기면 유저 칸도 지운다.
 @Repository
 @NoArgsConstructor
 public class EmitterRepositoryImpl implements EmitterRepository {
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final Map<String, Object> eventCache = new ConcurrentHashMap<>();
+    private static final int MAX_CONNECTIONS_PER_USER = 5;
 
-    @Override
-    public SseEmitter save(String emitterId, SseEmitter sseEmitter) {
-        emitters.put(emitterId, sseEmitter);
-        return sseEmitter;
-    }
-
-    @Override
-    public void saveEventCache(String eventCacheId, Object event) {
-        eventCache.put(eventCacheId, event);
-    }
-
-    @Override
-    public Map<String, SseEmitter> findAllEmitterStartWithByUserId(String userId) {
-        return emitters.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(userId))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
 
     @Override
-    public Map<String, Object> findAllEventCacheStartWithByUserId(String userId) {
-        return eventCache.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(userId))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    public Connection save(Long userId) {
+        Connection connection = new Connection();
+        Connection[] evicted = new Connection[1];
+        connections.compute(userId, (id, list) -> {
+            List<Connection> current = list == null ? new CopyOnWriteArrayList<>() : list;
+            current.add(connection);
+            if (current.size() > MAX_CONNECTIONS_PER_USER) {
+                evicted[0] = current.remove(0);
+            }
+            return current;
+        });
+        if (evicted[0] != null) {
+            evicted[0].close();
+        }
+        return connection;
     }
 
     @Override
-    public void deleteById(String id) {
-        emitters.remove(id);
+    public List<Connection> findAllByUserId(Long userId) {
+        List<Connection> list = connections.get(userId);
+        return list == null ? Collections.emptyList() : list;
     }
 
     @Override
-    public void deleteAllEmitterStartWithId(String userId) {
-        emitters.forEach(
-                (key, emitter) -> {
-                    if (key.startsWith(userId)) {
-                        emitters.remove(key);
-                    }
-                }
-        );
+    public boolean hasConnection(Long userId) {
+        return connections.containsKey(userId);
     }
 
     @Override
-    public void deleteAllEventCacheStartWithId(String userId) {
-        eventCache.forEach(
-                (key, emitter) -> {
-                    if (key.startsWith(userId)) {
-                        eventCache.remove(key);
-                    }
-                }
-        );
+    public void deleteById(Long userId, Connection connection) {
+        connections.computeIfPresent(userId, (id, list) -> {
+            list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
     }
 }
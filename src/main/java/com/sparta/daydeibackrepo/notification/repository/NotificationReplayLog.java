@@ -0,0 +1,109 @@
+package com.sparta.daydeibackrepo.notification.repository;
+
+import com.sparta.daydeibackrepo.notification.dto.NotificationResponseDto;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 재연결(Last-Event-ID) 시 다시 보내줄 알림을 유저별로 최근 MAX_EVENTS 개, MAX_AGE 동안만 들고 있는 버퍼
+// 이벤트 id 는 알림 id(notification_id) 이므로 유저 안에서 단조 증가한다.
+// 버퍼가 completeAfter 이후의 알림을 전부 들고 있다고 보장할 수 있을 때만 버퍼에서 답하고,
+// 그렇지 않으면(재배포 직후, 오래 끊겨 있던 경우) null 을 돌려 DB 에서 읽게 한다.
+@Repository
+public class NotificationReplayLog {
+    private static final int MAX_EVENTS = 100;
+    private static final long MAX_AGE_MILLIS = 30 * 60 * 1000L;
+
+    private final Map<Long, UserLog> logs = new ConcurrentHashMap<>();
+
+    public void append(Long userId, NotificationResponseDto event) {
+        logs.compute(userId, (id, userLog) -> {
+            UserLog saved = userLog == null ? new UserLog(event.getId() - 1) : userLog;
+            saved.append(event, System.currentTimeMillis());
+            return saved;
+        });
+    }
+
+    // lastEventId 이후의 알림 (버퍼로 답할 수 없으면 null)
+    public List<NotificationResponseDto> findAfter(Long userId, long lastEventId) {
+        UserLog userLog = logs.get(userId);
+        if (userLog == null) {
+            return null;
+        }
+        return userLog.findAfter(lastEventId, System.currentTimeMillis());
+    }
+
+    // 오래된 이벤트를 지우고 빈 유저 버퍼는 정리 (메모리가 가동 시간이 아니라 최근 활동 유저 수에 비례하도록)
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        logs.forEach((userId, userLog) -> logs.computeIfPresent(userId, (id, current) -> current.evict(now) ? null : current));
+    }
+
+    private static class UserLog {
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        // 이 id 이후의 알림은 전부 entries 에 있음
+        private long completeAfter;
+
+        private UserLog(long completeAfter) {
+            this.completeAfter = completeAfter;
+        }
+
+        private synchronized void append(NotificationResponseDto event, long now) {
+            evict(now);
+            if (event.getId() <= completeAfter) {
+                // 커밋 순서가 id 순서와 다르게 늦게 들어온 알림 : 보장 범위를 그 앞까지 당김
+                completeAfter = event.getId() - 1;
+            }
+            entries.addLast(new Entry(event, now));
+            while (entries.size() > MAX_EVENTS) {
+                completeAfter = Math.max(completeAfter, entries.removeFirst().event.getId());
+            }
+        }
+
+        private synchronized List<NotificationResponseDto> findAfter(long lastEventId, long now) {
+            evict(now);
+            if (lastEventId < completeAfter) {
+                return null;
+            }
+            List<NotificationResponseDto> events = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.event.getId() > lastEventId) {
+                    events.add(entry.event);
+                }
+            }
+            events.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            return events;
+        }
+
+        // 비었으면 true
+        private synchronized boolean evict(long now) {
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (now - entry.savedAt <= MAX_AGE_MILLIS) {
+                    break;
+                }
+                completeAfter = Math.max(completeAfter, entry.event.getId());
+                iterator.remove();
+            }
+            return entries.isEmpty();
+        }
+    }
+
+    private static class Entry {
+        private final NotificationResponseDto event;
+        private final long savedAt;
+
+        private Entry(NotificationResponseDto event, long savedAt) {
+            this.event = event;
+            this.savedAt = savedAt;
+        }
+    }
+}
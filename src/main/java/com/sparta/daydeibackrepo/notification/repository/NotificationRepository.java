@@ -1,19 +1,35 @@
 package com.sparta.daydeibackrepo.notification.repository;
 
+import com.sparta.daydeibackrepo.notification.dto.NotificationBusDto;
 import com.sparta.daydeibackrepo.notification.entity.Notification;
 import com.sparta.daydeibackrepo.notification.entity.NotificationType;
 import com.sparta.daydeibackrepo.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    // 알림함 첫 페이지 / cursor(이전 페이지 마지막 알림 id) 이후 페이지 : (user_id, notification_id) 인덱스를 역순으로 읽음
     @Query("select n from Notification n " + "where n.receiver.id = :userId " + "order by n.id desc")
-    List<Notification> findAllByUserId(@Param("userId") Long userId);
+    List<Notification> findAllByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select n from Notification n " + "where n.receiver.id = :userId and " + "n.id < :cursor " + "order by n.id desc")
+    List<Notification> findAllByUserIdBefore(@Param("userId") Long userId, @Param("cursor") Long cursor, Pageable pageable);
+
+    // cursor 이하 안 읽은 알림을 한 번에 읽음 처리
+    @Modifying
+    @Query("update Notification n set n.isRead = true " + "where n.receiver.id = :userId and " + "n.id <= :cursor and " + "n.isRead = false")
+    int readAllUpTo(@Param("userId") Long userId, @Param("cursor") Long cursor);
+
+    @Modifying
+    @Query("delete from Notification n " + "where n.receiver.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
 
     @Query("select count(n) from Notification n " + "where n.receiver.id = :userId and " + "n.isRead = false")
     Long countUnReadNotifications(@Param("userId") Long userId);
@@ -21,7 +37,28 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("select n from Notification n " + "where n.receiver = :user and " + "n.returnId = :returnId and " + " n.notificationType = :notificationType")
     Notification findNotification(User user, Long returnId,  NotificationType notificationType);
 
-    Optional<Notification> findByIdAndIsRead(Long user, Boolean bool);
+    // 일정에서 빠진 참여자들에게 남아있는 참여 요청 알림 정리
+    @Modifying
+    @Query("delete from Notification n " + "where n.returnId = :returnId and " + "n.receiver.id in :receiverIds and " + "n.notificationType in :notificationTypes")
+    int deleteAllByReturnIdAndReceivers(@Param("returnId") Long returnId, @Param("receiverIds") Collection<Long> receiverIds, @Param("notificationTypes") Collection<NotificationType> notificationTypes);
+
+    // 재연결 시 Last-Event-ID 이후 알림 (재연결 버퍼로 답할 수 없을 때)
+    @Query("select n from Notification n " + "where n.receiver.id = :userId and " + "n.id > :lastEventId " + "order by n.id asc")
+    List<Notification> findAllAfter(@Param("userId") Long userId, @Param("lastEventId") Long lastEventId, Pageable pageable);
+
+    // 알림 버스(DB 폴링) : (fromId, toId] 범위 알림을 id 순으로, 보낼 값만 (PK 범위 조회)
+    @Query("select new com.sparta.daydeibackrepo.notification.dto.NotificationBusDto(" +
+            "n.id, n.receiver.id, n.notificationType, n.content.content, n.returnId, n.isRead, n.createdAt) " +
+            "from Notification n " + "where n.id > :fromId and " + "n.id <= :toId " + "order by n.id asc")
+    List<NotificationBusDto> findBusRange(@Param("fromId") Long fromId, @Param("toId") Long toId, Pageable pageable);
+
+    // 알림 버스(DB 폴링) : (fromId, toId] 범위 알림 수 (늦게 커밋된 알림이 있는지 확인)
+    @Query("select count(n) from Notification n " + "where n.id > :fromId and " + "n.id <= :toId")
+    long countBusRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select max(n.id) from Notification n")
+    Long findMaxId();
+
 
 
 }
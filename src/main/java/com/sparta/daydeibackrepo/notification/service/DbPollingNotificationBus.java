@@ -0,0 +1,134 @@
+package com.sparta.daydeibackrepo.notification.service;
+
+import com.sparta.daydeibackrepo.notification.dto.NotificationBusDto;
+import com.sparta.daydeibackrepo.notification.dto.NotificationCreatedEvent;
+import com.sparta.daydeibackrepo.notification.dto.NotificationResponseDto;
+import com.sparta.daydeibackrepo.notification.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Notification 테이블을 공용 로그로 쓰는 버스
+// 자기 WAS 에서 만든 알림은 바로 보내고, 다른 WAS 에서 만든 알림은 1초마다 마지막으로 읽은 id(watermark) 이후를 읽어서 보낸다.
+// IDENTITY id 는 커밋 순서와 다를 수 있어 watermark 아래에 늦게 커밋되는 알림이 있을 수 있다.
+// 그래서 OVERLAP_SECONDS 전의 watermark(floor) ~ watermark 범위의 행 수를 세어 이미 본 수와 다를 때만 그 범위를 다시 읽는다.
+// (평소 폴링은 PK 범위 조회 두 번이고, 커밋이 OVERLAP_SECONDS 보다 늦지 않으면 놓치지 않는다)
+// 본 알림 id 는 floor 위의 것만 기억해서 두 번 보내지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.bus", havingValue = "db", matchIfMissing = true)
+public class DbPollingNotificationBus implements NotificationBus {
+    private static final int BATCH_SIZE = 500;
+    private static final long OVERLAP_SECONDS = 30;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+
+    // floor 보다 큰, 이미 보낸(또는 폴링에서 본) 알림 id
+    private final NavigableSet<Long> delivered = new TreeSet<>();
+    // 폴링 시각별 watermark {폴링 시각(ms), watermark} : floor 계산용
+    private final Deque<long[]> history = new ArrayDeque<>();
+    // 폴링으로 읽은 가장 큰 알림 id (시작 전이면 null)
+    private Long watermark;
+
+    // 기동 시점 이전 알림은 재연결 시 DB 에서 읽으므로 지금부터만 따라감
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Long maxId = notificationRepository.findMaxId();
+        synchronized (this) {
+            watermark = maxId == null ? 0L : maxId;
+            history.addLast(new long[]{System.currentTimeMillis(), watermark});
+        }
+    }
+
+    @Override
+    public void publish(NotificationCreatedEvent event) {
+        for (int i = 0; i < event.getNotifications().size(); i++) {
+            NotificationResponseDto data = event.getNotifications().get(i);
+            if (markDelivered(data.getId())) {
+                notificationDispatcher.dispatch(event.getReceiverIds().get(i), data);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000L)
+    public void poll() {
+        long from;
+        long floor;
+        synchronized (this) {
+            if (watermark == null) {
+                return;
+            }
+            from = watermark;
+            floor = floor(System.currentTimeMillis());
+        }
+        try {
+            // 새 알림
+            long to = deliverRange(from, Long.MAX_VALUE);
+            synchronized (this) {
+                watermark = Math.max(watermark, to);
+                history.addLast(new long[]{System.currentTimeMillis(), watermark});
+            }
+            // floor ~ from 사이에 늦게 커밋된 알림 (본 수와 DB 행 수가 다를 때만 다시 읽음, 삭제된 알림이 있어도 다시 읽고 끝)
+            if (from > floor && notificationRepository.countBusRange(floor, from) != deliveredCount(floor, from)) {
+                deliverRange(floor, from);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Notification bus poll failed.", e);
+        }
+    }
+
+    // (fromId, toId] 범위에서 아직 안 보낸 알림을 보내고 마지막으로 읽은 id 를 돌려줌
+    private long deliverRange(long fromId, long toId) {
+        long last = fromId;
+        List<NotificationBusDto> notifications;
+        do {
+            notifications = notificationRepository.findBusRange(last, toId, PageRequest.of(0, BATCH_SIZE));
+            for (NotificationBusDto notification : notifications) {
+                if (markDelivered(notification.getId())) {
+                    notificationDispatcher.dispatch(notification.getReceiverId(), notification.toResponseDto());
+                }
+                last = notification.getId();
+            }
+        } while (notifications.size() == BATCH_SIZE);
+        return last;
+    }
+
+    // OVERLAP_SECONDS 전의 watermark. 그보다 오래된 기록과 본 id 는 버림
+    private long floor(long now) {
+        long cutoff = now - OVERLAP_SECONDS * 1000;
+        // 두 번째 기록도 cutoff 이전이면 첫 기록은 필요 없음
+        while (history.size() > 1) {
+            Iterator<long[]> records = history.iterator();
+            records.next();
+            if (records.next()[0] > cutoff) {
+                break;
+            }
+            history.removeFirst();
+        }
+        long floor = history.getFirst()[1];
+        delivered.headSet(floor, true).clear();
+        return floor;
+    }
+
+    private synchronized boolean markDelivered(Long notificationId) {
+        return delivered.add(notificationId);
+    }
+
+    private synchronized long deliveredCount(long fromId, long toId) {
+        return delivered.subSet(fromId, false, toId, true).size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.sparta.daydeibackrepo.notification.service;
+
+import com.sparta.daydeibackrepo.notification.dto.NotificationCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.bus", havingValue = "in-process")
+public class InProcessNotificationBus implements NotificationBus {
+    private final NotificationDispatcher notificationDispatcher;
+
+    @Override
+    public void publish(NotificationCreatedEvent event) {
+        for (int i = 0; i < event.getNotifications().size(); i++) {
+            notificationDispatcher.dispatch(event.getReceiverIds().get(i), event.getNotifications().get(i));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sparta.daydeibackrepo.notification.service;
+
+import com.sparta.daydeibackrepo.notification.dto.NotificationCreatedEvent;
+
+// 커밋된 알림을 각 WAS 로 퍼뜨리는 통로. 각 WAS 는 받은 알림을 자기 emitter 에만 보낸다. (NotificationDispatcher)
+// notification.bus=in-process : WAS 한 대일 때, 같은 JVM 안에서 바로 전달
+// notification.bus=db (기본값) : WAS 여러 대일 때, Notification 테이블을 id 순으로 폴링해서 전달
+public interface NotificationBus {
+    void publish(NotificationCreatedEvent event);
+}
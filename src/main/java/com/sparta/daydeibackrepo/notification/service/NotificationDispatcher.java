@@ -0,0 +1,68 @@
+package com.sparta.daydeibackrepo.notification.service;
+
+import com.sparta.daydeibackrepo.notification.dto.NotificationResponseDto;
+import com.sparta.daydeibackrepo.notification.repository.EmitterRepository;
+import com.sparta.daydeibackrepo.notification.repository.NotificationReplayLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 알림 SSE 전송을 요청 스레드에서 떼어내는 단계 (이 WAS 에 열린 연결에만 보냄)
+// NotificationBus 에서 받은 알림을 재연결 버퍼에 먼저 넣고, sink emit 은 유저 id 로 나눈 단일 스레드 executor 에 넘긴다.
+// (같은 유저의 알림은 항상 같은 스레드에서 순서대로 emit 되므로 sink 에 동시에 emit 하지 않음, 느린 연결이 API 응답을 붙잡지 않음)
+// 큐가 가득 차면 전송은 버리지만 버퍼에는 남아 있으므로 클라이언트가 재연결하면 Last-Event-ID 로 다시 받는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    private static final int STRIPES = 8;
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final EmitterRepository emitterRepository;
+    private final NotificationReplayLog notificationReplayLog;
+
+    private final ThreadPoolExecutor[] executors = new ThreadPoolExecutor[STRIPES];
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            String name = "notification-dispatcher-" + i;
+            executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> new Thread(runnable, name),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    public void dispatch(Long receiverId, NotificationResponseDto data) {
+        notificationReplayLog.append(receiverId, data);
+        if (!emitterRepository.hasConnection(receiverId)) {
+            return;
+        }
+        try {
+            executors[(int) Math.floorMod(receiverId, (long) STRIPES)].execute(() -> deliver(receiverId, data));
+        } catch (RejectedExecutionException e) {
+            log.warn("Notification dispatch queue full. [userId={}, notificationId={}]", receiverId, data.getId());
+        }
+    }
+
+    // 느린 연결은 연결별 버퍼에서 오래된 것부터 버려지므로 여기서는 넣기만 함
+    private void deliver(Long receiverId, NotificationResponseDto data) {
+        for (EmitterRepository.Connection connection : emitterRepository.findAllByUserId(receiverId)) {
+            connection.emit(data);
+        }
+    }
+}
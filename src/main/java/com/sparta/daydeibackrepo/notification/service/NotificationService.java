@@ -1,12 +1,14 @@
 package com.sparta.daydeibackrepo.notification.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
+import com.sparta.daydeibackrepo.notification.dto.NotificationCreatedEvent;
 import com.sparta.daydeibackrepo.notification.dto.NotificationDto;
 import com.sparta.daydeibackrepo.notification.dto.NotificationGetDto;
 import com.sparta.daydeibackrepo.notification.dto.NotificationResponseDto;
 import com.sparta.daydeibackrepo.notification.entity.Notification;
 import com.sparta.daydeibackrepo.notification.entity.NotificationType;
 import com.sparta.daydeibackrepo.notification.repository.EmitterRepository;
+import com.sparta.daydeibackrepo.notification.repository.NotificationReplayLog;
 import com.sparta.daydeibackrepo.notification.repository.NotificationRepository;
 import com.sparta.daydeibackrepo.post.repository.PostRepository;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
@@ -15,15 +17,27 @@ import com.sparta.daydeibackrepo.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.sparta.daydeibackrepo.exception.message.ExceptionMessage.*;
@@ -39,57 +53,123 @@ public class NotificationService {
     private Long timeout;
     private final NotificationRepository notificationRepository;
     private final EmitterRepository emitterRepository;
+    private final NotificationReplayLog notificationReplayLog;
+    private final NotificationBus notificationBus;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    public SseEmitter connect(Long userId, String lastEventId) {
-        log.info(userId.toString());
-        String emitterId = makeTimeIncludeId(userId);
-        log.info(emitterId);
-        SseEmitter emitter = emitterRepository.save(emitterId, new SseEmitter(timeout));
-        emitter.onCompletion(() -> emitterRepository.deleteById(emitterId));
-        emitter.onTimeout(() -> emitterRepository.deleteById(emitterId));
+    // 재연결 시 DB 에서 다시 보내줄 최대 알림 수
+    private static final int REPLAY_LIMIT = 100;
+    // 알림함 한 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 100;
+    // 연결별로 쌓아둘 수 있는 미전송 알림 수 (넘치면 오래된 것부터 버림)
+    private static final int CONNECTION_BUFFER = 256;
+    // 프록시/로드밸런서가 유휴 연결을 끊지 않도록
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+    private static final String UNREAD_COUNT_EVENT = "unreadCount";
+    private static final String RECONNECT_EVENT = "reconnect";
 
-        // 503 에러를 방지하기 위한 더미 이벤트 전송
-        String eventId = makeTimeIncludeId(userId);
-        log.info(eventId);
-        sendNotification(emitter, eventId, emitterId, "EventStream Created. [userId=" + userId + "]");
+    // 연결 sink 를 구독하는 SSE 스트림 : 안 읽은 알림 수 -> 놓친 알림 -> 실시간 알림, 사이사이 heartbeat
+    // 느린 클라이언트의 연결별 버퍼(CONNECTION_BUFFER)가 넘치면 reconnect 이벤트를 보내고 연결을 닫는다.
+    // 중간 알림을 버리지 않고 끊으므로 마지막으로 받은 id 가 곧 Last-Event-ID 이고, 재연결 시 그 뒤 알림을 빠짐없이 받는다.
+    public Flux<ServerSentEvent<Object>> connect(User user, String lastEventId) {
+        Long userId = user.getId();
+        EmitterRepository.Connection connection = emitterRepository.save(userId);
+
+        // 503 에러를 방지하기 위한 첫 이벤트 : 배지용 안 읽은 알림 수 (id 없이 보내서 클라이언트의 Last-Event-ID 를 덮어쓰지 않음)
+        // 인증할 때 읽어온 users 행의 카운터라 추가 조회 없음
+        ServerSentEvent<Object> created = ServerSentEvent.builder()
+                .event(UNREAD_COUNT_EVENT)
+                .data(user.getUnreadNotificationCount() == null ? 0L : user.getUnreadNotificationCount())
+                .comment("EventStream Created. [userId=" + userId + "]")
+                .build();
 
         // 클라이언트가 미수신한 Event 목록이 존재할 경우 전송하여 Event 유실을 예방
-        if (hasLostData(lastEventId)) {
-            sendLostData(lastEventId, userId, emitterId, emitter);
-        }
-        return emitter;
+        // 연결을 먼저 등록했으므로 조회 중에 들어온 알림은 sink 에도 쌓임 -> 이미 보낸 id 는 건너뜀
+        Flux<NotificationResponseDto> data = Flux.defer(() -> {
+            List<NotificationResponseDto> lostData = findLostData(userId, parseLastEventId(lastEventId));
+            Set<Long> replayed = new HashSet<>();
+            for (NotificationResponseDto dto : lostData) {
+                replayed.add(dto.getId());
+            }
+            Flux<NotificationResponseDto> live = connection.asFlux()
+                    .filter(dto -> !replayed.contains(dto.getId()))
+                    .onBackpressureBuffer(CONNECTION_BUFFER,
+                            overflow -> log.warn("SSE connection buffer overflow, asking client to reconnect. [userId={}, notificationId={}]",
+                                    userId, overflow.getId()),
+                            BufferOverflowStrategy.ERROR);
+            return Flux.fromIterable(lostData).concatWith(live);
+        });
+        Flux<ServerSentEvent<Object>> events = data
+                .map(dto -> ServerSentEvent.builder()
+                        .id(String.valueOf(dto.getId()))
+                        .data(dto)
+                        .build())
+                // id 없이 보내서 Last-Event-ID 는 마지막으로 받은 알림 id 로 남음
+                .onErrorResume(Exceptions::isOverflow, e -> Flux.just(ServerSentEvent.builder()
+                                .event(RECONNECT_EVENT)
+                                .comment("Connection buffer overflow. Reconnect with Last-Event-ID.")
+                                .build())
+                        .doAfterTerminate(connection::close));
+        // 구독 쪽이 밀려 있을 때 쌓인 tick 은 버림 (heartbeat 는 밀린 만큼 보낼 필요 없음)
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.builder().comment("heartbeat").build());
+
+        return Flux.concat(Flux.just(created), Flux.merge(events, heartbeats))
+                .takeUntilOther(connection.closed())
+                .take(Duration.ofMillis(timeout))
+                .doFinally(signal -> emitterRepository.deleteById(userId, connection));
     }
-    //API 메서드 사이에 껴서 알림 전송
+    //API 메서드 사이에 껴서 알림 전송 : 저장만 하고 SSE 전송은 커밋 이후 NotificationDispatcher 에서 (롤백되면 보내지 않음)
     public void send(Long userId, NotificationType notificationType, String content, Long returnId) {
         Notification notification = notificationRepository.save(createNotification(userId, notificationType, content, returnId));
+        userRepository.addUnreadNotificationCount(List.of(userId), 1);
+        publish(List.of(notification));
+    }
 
-        String receiverId = String.valueOf(userId);
-        String eventId = receiverId + "_" + System.currentTimeMillis();
-        Map<String, SseEmitter> emitters = emitterRepository.findAllEmitterStartWithByUserId(receiverId);
-
-        Long user = null;
-        Long post = null;
+    // 여러 유저에게 같은 알림 : 알림은 한 번에 저장하고, 이벤트도 하나로 발행
+    public void sendToMany(Collection<User> receivers, NotificationType notificationType, String content, Long returnId) {
+        if (receivers.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>();
+        for (User receiver : receivers) {
+            notifications.add(Notification.builder()
+                    .receiver(receiver)
+                    .notificationType(notificationType)
+                    .content(content)
+                    .returnId(returnId)
+                    .isRead(false)
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+        userRepository.addUnreadNotificationCount(receivers.stream().map(User::getId).collect(Collectors.toSet()), 1);
+        publish(notifications);
+    }
 
-        if(NotificationType.userContent().contains(notificationType)) {
-            user = returnId;
-        } else {
-            post = returnId;
+    private void publish(List<Notification> notifications) {
+        List<Long> receiverIds = new ArrayList<>();
+        List<NotificationResponseDto> data = new ArrayList<>();
+        for (Notification notification : notifications) {
+            receiverIds.add(notification.getReceiver().getId());
+            data.add(NotificationResponseDto.from(notification));
         }
+        applicationEventPublisher.publishEvent(new NotificationCreatedEvent(receiverIds, data));
+    }
 
-        Long finalPost = post;
-        Long finalUser = user;
-        emitters.forEach(
-                (key, emitter) -> {
-                    emitterRepository.saveEventCache(key, notification);
-                    sendNotification(emitter, eventId, key, NotificationResponseDto.create(notification, finalPost, finalUser));
-                }
-        );
+    // 커밋된 알림만 버스로 (트랜잭션 밖에서 발행된 경우(fallbackExecution)에는 바로)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        notificationBus.publish(event);
     }
-    //나한테 온 모든 알림 GET + 알림 다 읽은 것으로 변경
+    //나한테 온 알림 GET (최신순, cursor 이전 size 개) + 첫 페이지를 열면 그 이하 알림을 다 읽은 것으로 변경
     @Transactional
-    public NotificationGetDto findAllNotifications(Long userId) {
+    public NotificationGetDto findAllNotifications(Long userId, Long cursor, int size) {
         Long countNum = countUnReadNotifications(userId);
-        List<Notification> notifications = notificationRepository.findAllByUserId(userId);
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findAllByUserId(userId, page)
+                : notificationRepository.findAllByUserIdBefore(userId, cursor, page);
 
         List<NotificationDto> notificationDtos = new ArrayList<>();
         for (Notification notification : notifications) {
@@ -106,44 +186,81 @@ public class NotificationService {
             notificationDtos.add(NotificationDto.create(notification, post, user));
         }
 
-        notifications.stream()
-                .forEach(notification -> notification.read());
+        // 다음 페이지는 첫 페이지보다 오래된 알림이므로 첫 페이지에서 한 번만 (응답은 읽기 전 상태로)
+        if (cursor == null && !notifications.isEmpty()) {
+            int read = notificationRepository.readAllUpTo(userId, notifications.get(0).getId());
+            if (read > 0) {
+                userRepository.addUnreadNotificationCount(List.of(userId), -read);
+            }
+        }
+        Long nextCursor = notifications.size() < page.getPageSize() ? null : notifications.get(notifications.size() - 1).getId();
 
-        return new NotificationGetDto(countNum, notificationDtos);
+        return new NotificationGetDto(countNum, notificationDtos, nextCursor);
 
 
 //        return notifications.stream()
 //                .map(notification -> NotificationDto.create(notification, post, user))
 //                .collect(Collectors.toList());
     }
-    //읽지 않은 알림 갯수 Count
+    //읽지 않은 알림 갯수 : users 행의 카운터 (알림 저장/읽음/삭제와 같은 트랜잭션에서 같이 바뀜)
     public Long countUnReadNotifications(Long userId) {
-        return notificationRepository.countUnReadNotifications(userId);
+        return userRepository.findUnreadNotificationCount(userId).orElse(0L);
     }
 
-    private String makeTimeIncludeId(Long userId) {
-        return userId + "_" + System.currentTimeMillis();
+    // 알림 하나 삭제 (안 읽은 알림이면 카운터도 감소)
+    @Transactional
+    public void delete(Notification notification) {
+        notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            userRepository.addUnreadNotificationCount(List.of(notification.getReceiver().getId()), -1);
+        }
     }
-    //알림 전송
-    private void sendNotification(SseEmitter emitter, String eventId, String emitterId, Object data) {
-        try {
-            emitter.send(SseEmitter.event()
-                    .id(eventId)
-                    .data(data));
-        } catch (IOException exception) {
-            emitterRepository.deleteById(emitterId);
+
+    // 여러 유저의 알림을 한 번에 지운 경우 : 몇 개가 안 읽은 알림이었는지 모르므로 해당 유저들만 다시 셈
+    @Transactional
+    public void deleteAllByReturnIdAndReceivers(Long returnId, Collection<Long> receiverIds, Collection<NotificationType> notificationTypes) {
+        if (receiverIds.isEmpty()) {
+            return;
+        }
+        if (notificationRepository.deleteAllByReturnIdAndReceivers(returnId, receiverIds, notificationTypes) > 0) {
+            userRepository.recountUnreadNotifications(receiverIds);
         }
     }
 
-    private boolean hasLostData(String lastEventId) {
-        return !lastEventId.isEmpty();
+    // 카운터 컬럼이 추가되기 전에 가입한 유저는 한 번 알림 테이블 기준으로 채움
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillUnreadNotificationCount() {
+        int filled = userRepository.fillUnreadNotificationCount();
+        if (filled > 0) {
+            log.info("Unread notification counters filled. [users={}]", filled);
+        }
     }
 
-    private void sendLostData(String lastEventId, Long userId, String emitterId, SseEmitter emitter) {
-        Map<String, Object> eventCaches = emitterRepository.findAllEventCacheStartWithByUserId(String.valueOf(userId));
-        eventCaches.entrySet().stream()
-                .filter(entry -> lastEventId.compareTo(entry.getKey()) < 0)
-                .forEach(entry -> sendNotification(emitter, entry.getKey(), emitterId, entry.getValue()));
+    // 이벤트 id 는 알림 id (예전 형식 "userId_시각" 이나 잘못된 값이면 다시 보내지 않음)
+    private Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // 버퍼에 lastEventId 이후가 다 있으면 버퍼에서, 아니면(재배포 직후 등) DB 에서 알림 id 순으로
+    private List<NotificationResponseDto> findLostData(Long userId, Long lastEventId) {
+        if (lastEventId == null) {
+            return Collections.emptyList();
+        }
+        List<NotificationResponseDto> lostData = notificationReplayLog.findAfter(userId, lastEventId);
+        if (lostData == null) {
+            lostData = notificationRepository.findAllAfter(userId, lastEventId, PageRequest.of(0, REPLAY_LIMIT)).stream()
+                    .map(NotificationResponseDto::from)
+                    .collect(Collectors.toList());
+        }
+        return lostData;
     }
     //알림 생성
     private Notification createNotification(Long receiverId, NotificationType notificationType, String content, Long returnId) {
@@ -165,8 +282,8 @@ public class NotificationService {
         if(!Objects.equals(user.getId(), recieverId)){
             throw new CustomException(INVALID_REQUEST);
         }
-        List<Notification> notifications = notificationRepository.findAllByUserId(recieverId);
-        notificationRepository.deleteAll(notifications);
+        notificationRepository.deleteAllByUserId(recieverId);
+        userRepository.resetUnreadNotificationCount(recieverId);
     }
 
 }
\ No newline at end of file
@@ -4,14 +4,17 @@ import com.sparta.daydeibackrepo.post.dto.HomeResponseDto;
 import com.sparta.daydeibackrepo.post.dto.PostDragRequestDto;
 import com.sparta.daydeibackrepo.post.dto.PostRequestDto;
 import com.sparta.daydeibackrepo.post.dto.PostResponseDto;
+import com.sparta.daydeibackrepo.post.dto.PostSyncResponseDto;
 import com.sparta.daydeibackrepo.post.service.PostService;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
 import com.sparta.daydeibackrepo.util.StatusResponseDto;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -23,6 +26,7 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final CalendarVersionService calendarVersionService;
 
     //일정 작성
     @PostMapping("/posts")
@@ -66,14 +70,31 @@ public class PostController {
 
     // 특정 날짜의 일정 ( 다른 사용자 )
     @GetMapping("/home/today/{userId}")
-    public StatusResponseDto<Object> getPostByDate(@PathVariable Long userId, @RequestParam String date, @Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails){
+    public StatusResponseDto<Object> getPostByDate(@PathVariable Long userId, @RequestParam String date, @Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                   @Parameter(hidden = true) WebRequest webRequest){
+        // 캘린더가 바뀌지 않았으면 조회 없이 304
+        if (webRequest.checkNotModified(calendarVersionService.calendarETag(userId, userDetails))) {
+            return null;
+        }
         return StatusResponseDto.success(postService.getPostByDate(userId, date, userDetails));
     }
 
-    //전체일정 홈화면
+    //전체일정 홈화면 (from, to : 월간/주간 보기 기간, 생략하면 전체)
     @GetMapping("home/posts/{userId}")
-    public StatusResponseDto<List<HomeResponseDto>> getHomePost(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long userId) {
-        return StatusResponseDto.success(postService.getHomePost(userId, userDetails));
+    public StatusResponseDto<List<HomeResponseDto>> getHomePost(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long userId,
+                                                                @RequestParam(required = false) String from, @RequestParam(required = false) String to,
+                                                                @Parameter(hidden = true) WebRequest webRequest) {
+        if (webRequest.checkNotModified(calendarVersionService.calendarETag(userId, userDetails))) {
+            return null;
+        }
+        return StatusResponseDto.success(postService.getHomePost(userId, from, to, userDetails));
+    }
+
+    //증분 동기화 (syncToken : 이전 응답의 syncToken, 생략하면 전체 일정)
+    @GetMapping("home/posts/{userId}/sync")
+    public StatusResponseDto<PostSyncResponseDto> getSyncPost(@Parameter(hidden = true) @AuthenticationPrincipal UserDetailsImpl userDetails, @PathVariable Long userId,
+                                                              @RequestParam(required = false) String syncToken) {
+        return StatusResponseDto.success(postService.getSyncPost(userId, syncToken, userDetails));
     }
 
     @GetMapping("/post/update/{userId}")
@@ -32,4 +32,15 @@ public class HomeResponseDto {
         this.endTime = post.getEndTime();
         this.color = post.getColor();
     }
+
+    // PostCustomRepositoryImpl 프로젝션용
+    public HomeResponseDto(Long id, String title, LocalDate startDate, LocalDate endDate, LocalTime startTime, LocalTime endTime, ColorEnum color) {
+        this.id = id;
+        this.title = title;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.color = color;
+    }
 }
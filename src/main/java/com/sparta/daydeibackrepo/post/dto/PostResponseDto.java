@@ -10,6 +10,7 @@ import lombok.Getter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -56,7 +57,7 @@ public class PostResponseDto {
                 .startTime(post.getStartTime())
                 .endTime(post.getEndTime())
                 .content(post.getContent())
-                .image(post.getImage())
+                .image(copyImage(post))
                 .location(post.getLocation())
                 .participant(tagedFriends)
                 .scope(post.getScope())
@@ -84,7 +85,7 @@ public class PostResponseDto {
                 .startTime(post.getStartTime())
                 .endTime(post.getEndTime())
                 .content(post.getContent())
-                .image(post.getImage())
+                .image(copyImage(post))
                 .location(post.getLocation())
                 .participant(tagedFriends)
                 .scope(post.getScope())
@@ -93,4 +94,9 @@ public class PostResponseDto {
                 .modifiedAt(post.getModifiedAt())
                 .build();
     }
+
+    // image 는 LAZY 컬렉션이므로 트랜잭션 안에서 복사해 둔다.
+    private static List<String> copyImage(Post post) {
+        return post.getImage() == null ? null : new ArrayList<>(post.getImage());
+    }
 }
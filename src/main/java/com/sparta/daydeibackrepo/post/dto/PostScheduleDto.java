@@ -0,0 +1,31 @@
+package com.sparta.daydeibackrepo.post.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// 일정 겹침 인덱스(ScheduleIndex) 적재용 : 일정 하나에 참여하는 유저 한 명 단위
+@Getter
+public class PostScheduleDto {
+    private Long postId;
+
+    private Long userId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    public PostScheduleDto(Long postId, Long userId, LocalDate startDate, LocalDate endDate, LocalTime startTime, LocalTime endTime) {
+        this.postId = postId;
+        this.userId = userId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sparta.daydeibackrepo.post.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class PostSyncResponseDto {
+    // 토큰 없이 요청했거나 전체 조회가 필요한 경우 true (changed 가 캘린더 전체)
+    private boolean fullSync;
+
+    // 추가/수정된 일정
+    private List<HomeResponseDto> changed;
+
+    // 삭제되었거나 더 이상 볼 수 없게 된 일정 id
+    private List<Long> deleted;
+
+    // 다음 요청에 그대로 넘겨줄 토큰
+    private String syncToken;
+
+    public PostSyncResponseDto(boolean fullSync, List<HomeResponseDto> changed, List<Long> deleted, String syncToken) {
+        this.fullSync = fullSync;
+        this.changed = changed;
+        this.deleted = deleted;
+        this.syncToken = syncToken;
+    }
+}
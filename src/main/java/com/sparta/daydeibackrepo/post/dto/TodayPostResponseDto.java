@@ -40,4 +40,18 @@ public class TodayPostResponseDto {
         this.content = post.getContent();
         this.color = color;
     }
+
+    // PostCustomRepositoryImpl 프로젝션용
+    public TodayPostResponseDto(Long id, String title, LocalDate startDate, LocalDate endDate, LocalTime startTime, LocalTime endTime,
+                                String location, String content, ColorEnum color) {
+        this.id = id;
+        this.title = title;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.location = location;
+        this.content = content;
+        this.color = color;
+    }
 }
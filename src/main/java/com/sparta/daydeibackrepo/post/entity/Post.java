@@ -8,6 +8,7 @@ import com.sparta.daydeibackrepo.util.TimeStamped;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -15,10 +16,17 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
+// 목록 조회에서는 컬렉션을 LAZY + @BatchSize 로 묶어서 가져오고,
+// 상세 조회(getPostOne, updatePost)만 Post.detail 그래프로 이미지와 작성자를 한 번에 가져온다.
+// (image, tag, PostSubscribe 는 모두 List 라서 두 개 이상을 한 그래프로 fetch join 할 수 없음)
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@NamedEntityGraph(name = "Post.detail", attributeNodes = {
+        @NamedAttributeNode("image"),
+        @NamedAttributeNode("user")
+})
 public class Post extends TimeStamped {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,7 +51,8 @@ public class Post extends TimeStamped {
     private String content;
 
     @Column
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 100)
     private List<String> image; //s3 연동 후 multipart로 변경해야함
 
     @Column
@@ -62,9 +71,11 @@ public class Post extends TimeStamped {
     private User user;
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.REMOVE)
+    @BatchSize(size = 100)
     private List<Tag> tag;
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.REMOVE)
+    @BatchSize(size = 100)
     private List<PostSubscribe> PostSubscribe;
 
 
@@ -0,0 +1,37 @@
+package com.sparta.daydeibackrepo.post.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 삭제 기록 : userId 의 캘린더에서 postId 일정이 사라졌음을 남겨둠 (증분 동기화의 deleted 목록)
+// 일정 자체가 지워진 뒤에도 남아야 하므로 연관관계 없이 id 만 저장한다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "post_tombstone",
+        indexes = @Index(name = "idx_post_tombstone_user_deleted", columnList = "user_id, deleted_at"))
+public class PostTombstone {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public PostTombstone(Long userId, Long postId, LocalDateTime deletedAt) {
+        this.userId = userId;
+        this.postId = postId;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,6 +1,10 @@
 package com.sparta.daydeibackrepo.post.repository;
 
+import com.sparta.daydeibackrepo.post.dto.HomeResponseDto;
+import com.sparta.daydeibackrepo.post.dto.PostScheduleDto;
+import com.sparta.daydeibackrepo.post.dto.TodayPostResponseDto;
 import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
 import com.sparta.daydeibackrepo.user.entity.User;
 
 import java.time.LocalDate;
@@ -11,10 +15,17 @@ import java.util.List;
 public interface PostCustomRepository {
     List<Post> findSubscribePost(User user);
     List<Post> findAllPostByUser(User user);
-    List<Post> findFriendPost(User master);
-    List<Post> findNotFriendPost(User master);
-    List<User> findAllUpdateFriend(User user);
+    List<User> findAllUpdateFriend(User user, long[] friendIds);
     Post findBirthdayPost(User master, User birthdayUser);
-    List<Post> findSubscribingPost(User user);
-    List<Post> findNofitySchedule();
+    List<HomeResponseDto> findHomePost(User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to);
+    List<HomeResponseDto> findHomeSubscribingPost(User user, LocalDate from, LocalDate to);
+    List<HomeResponseDto> findHomeSharedPost(User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to);
+    List<TodayPostResponseDto> findTodayPost(User master, List<ScopeEnum> scopes, LocalDate date);
+    List<TodayPostResponseDto> findTodaySubscribingPost(User user, LocalDate date);
+    List<TodayPostResponseDto> findTodaySharedPost(User master, List<ScopeEnum> scopes, LocalDate date);
+    List<HomeResponseDto> findChangedHomePost(User master, List<ScopeEnum> scopes, LocalDateTime since);
+    List<HomeResponseDto> findChangedSubscribingPost(User user, LocalDateTime since);
+    List<HomeResponseDto> findChangedSharedPost(User master, List<ScopeEnum> scopes, LocalDateTime since);
+    List<Long> findChangedHiddenPostIds(User master, List<ScopeEnum> scopes, LocalDateTime since);
+    List<PostScheduleDto> findAllSchedules();
 }
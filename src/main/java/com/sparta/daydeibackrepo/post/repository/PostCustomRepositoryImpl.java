@@ -1,7 +1,15 @@
 package com.sparta.daydeibackrepo.post.repository;
 
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DatePath;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import com.sparta.daydeibackrepo.friend.repository.FriendCustomRepository;
+import com.sparta.daydeibackrepo.post.dto.HomeResponseDto;
+import com.sparta.daydeibackrepo.post.dto.PostScheduleDto;
+import com.sparta.daydeibackrepo.post.dto.TodayPostResponseDto;
 import com.sparta.daydeibackrepo.post.entity.ColorEnum;
 import com.sparta.daydeibackrepo.post.entity.Post;
 import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
@@ -10,18 +18,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import static com.sparta.daydeibackrepo.post.entity.QPost.post;
-import static com.sparta.daydeibackrepo.userSubscribe.entity.QUserSubscribe.userSubscribe;
+import static com.sparta.daydeibackrepo.postSubscribe.entity.QPostSubscribe.postSubscribe;
+import static com.sparta.daydeibackrepo.tag.entity.QTag.tag;
+import static com.sparta.daydeibackrepo.userSubscribe.entity.QSubscribeTimeline.subscribeTimeline;
 
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
 @RequiredArgsConstructor
 public class PostCustomRepositoryImpl implements PostCustomRepository {
     private final JPAQueryFactory jpaQueryFactory;
-    private final FriendCustomRepository friendRepository;
 
     //@Query(value = "Select p From Post p Where p.user = :user "+" AND "+" p.scope = :SUBSCRIBE ")
     public List<Post> findSubscribePost(User user){
@@ -36,30 +46,22 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
                 .where(post.user.eq(user))
                 .fetch();
     }
-    //@Query(value = "Select p From Post p Where p.user = :master "+" AND (p.scope = :ALL OR "+" p.scope = :SUBSCRIBE OR "+" p.scope = :FRIEND )")
-    public List<Post> findFriendPost(User master){
-        return jpaQueryFactory
-                .selectFrom(post)
-                .where(post.user.eq(master).and(post.scope.in(ScopeEnum.ALL, ScopeEnum.SUBSCRIBE, ScopeEnum.FRIEND)))
-                .fetch();
-    }
-    //@Query(value = "Select p From Post p Where p.user = :master "+" AND (p.scope = :ALL OR "+" p.scope = :SUBSCRIBE )")
-    public List<Post> findNotFriendPost(User master){
-        return jpaQueryFactory
-                .selectFrom(post)
-                .where(post.user.eq(master).and(post.scope.in(ScopeEnum.ALL, ScopeEnum.SUBSCRIBE)))
-                .fetch();
-    }
     // 본인과 친구인 사람 중에서 최근에 글을 올린 유저를 List<User>로 뽑아옴
-    public List<User> findAllUpdateFriend(User user) {
-        List<User> friends = friendRepository.findAllFriends(user);
+    public List<User> findAllUpdateFriend(User user, long[] friendIds) {
+        if (friendIds.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> friends = new ArrayList<>(friendIds.length);
+        for (long friendId : friendIds) {
+            friends.add(friendId);
+        }
         return jpaQueryFactory
                 .select(post.user)
                 .from(post)
                 .where(post.user.ne(user)
                         .and(post.modifiedAt.between(LocalDateTime.now().minus(7, ChronoUnit.DAYS), LocalDateTime.now()))
                         .and(post.scope.in(ScopeEnum.ALL, ScopeEnum.SUBSCRIBE, ScopeEnum.FRIEND))
-                        .and(post.user.in(friends)))
+                        .and(post.user.id.in(friends)))
                 .orderBy(post.modifiedAt.desc())
                 .distinct()
                 .fetch();
@@ -74,22 +76,148 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
                         .and(post.startDate.eq(LocalDate.parse("2023-" + birthdayUser.getBirthday().substring(0,2) + "-" + birthdayUser.getBirthday().substring(2,4)))))
                 .fetchFirst();
     }
-    public List<Post> findSubscribingPost(User user){
+    // 캘린더 목록 조회용 DTO 프로젝션 : 엔티티(이미지 컬렉션, 작성자 프록시)를 만들지 않고 필요한 컬럼만 가져옴
+    // 구독/공유 일정은 프로젝션에서 바로 GRAY 로 색을 바꿔서 내려준다.
 
-        return jpaQueryFactory.selectFrom(post)
-                .leftJoin(userSubscribe).on(post.user.eq(userSubscribe.subscriberId))
-                .where(userSubscribe.subscribingId.eq(user)
-                        .and(post.scope.in(ScopeEnum.SUBSCRIBE))
-                .and(userSubscribe.isVisible.eq(true)))
+    // master가 작성한 일정 중 scopes에 해당하고 from ~ to 기간과 겹치는 일정
+    public List<HomeResponseDto> findHomePost(User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to){
+        return fetchOwnPost(homeProjection(post.color), master, scopes, from, to);
+    }
+    // user가 구독하는 일정 (구독 타임라인 인덱스 범위 조회)
+    public List<HomeResponseDto> findHomeSubscribingPost(User user, LocalDate from, LocalDate to){
+        return fetchSubscribingPost(homeProjection(Expressions.constant(ColorEnum.GRAY)), user, from, to);
+    }
+    // master가 태그되어 수락한 공유 일정 중 scopes에 해당하는 일정
+    public List<HomeResponseDto> findHomeSharedPost(User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to){
+        return fetchSharedPost(homeProjection(Expressions.constant(ColorEnum.GRAY)), master, scopes, from, to);
+    }
+    public List<TodayPostResponseDto> findTodayPost(User master, List<ScopeEnum> scopes, LocalDate date){
+        return fetchOwnPost(todayProjection(post.color), master, scopes, date, date);
+    }
+    public List<TodayPostResponseDto> findTodaySubscribingPost(User user, LocalDate date){
+        return fetchSubscribingPost(todayProjection(Expressions.constant(ColorEnum.GRAY)), user, date, date);
+    }
+    public List<TodayPostResponseDto> findTodaySharedPost(User master, List<ScopeEnum> scopes, LocalDate date){
+        return fetchSharedPost(todayProjection(Expressions.constant(ColorEnum.GRAY)), master, scopes, date, date);
+    }
+    // 증분 동기화 : since 이후 추가/수정된 일정 (조회 권한이 있는 것)
+    public List<HomeResponseDto> findChangedHomePost(User master, List<ScopeEnum> scopes, LocalDateTime since){
+        return jpaQueryFactory
+                .select(homeProjection(post.color))
+                .from(post)
+                .where(post.user.eq(master), post.scope.in(scopes), post.modifiedAt.goe(since))
                 .fetch();
     }
-    //추후 구현해보기 // 특정 시간에 시작하는 게시글 다 가져오기
-    public List<Post> findNofitySchedule(){
-        LocalDateTime localDateTime = LocalDateTime.now().plusHours(1);
-        LocalDate localDate = localDateTime.toLocalDate();
-        LocalTime localTime = localDateTime.toLocalTime();
-        return jpaQueryFactory.selectFrom(post)
-                .where(post.startDate.eq(localDate).and(post.startTime.eq(localTime)))
+    public List<HomeResponseDto> findChangedSubscribingPost(User user, LocalDateTime since){
+        return jpaQueryFactory
+                .select(homeProjection(Expressions.constant(ColorEnum.GRAY)))
+                .from(subscribeTimeline)
+                .join(subscribeTimeline.post, post)
+                .where(subscribeTimeline.reader.eq(user),
+                        subscribeTimeline.isVisible.eq(true),
+                        subscribeTimeline.modifiedAt.goe(since).or(post.modifiedAt.goe(since)))
                 .fetch();
     }
+    public List<HomeResponseDto> findChangedSharedPost(User master, List<ScopeEnum> scopes, LocalDateTime since){
+        return jpaQueryFactory
+                .select(homeProjection(Expressions.constant(ColorEnum.GRAY)))
+                .from(postSubscribe)
+                .join(postSubscribe.post, post)
+                .where(postSubscribe.user.eq(master),
+                        postSubscribe.postSubscribeCheck.eq(true),
+                        post.scope.in(scopes),
+                        postSubscribe.modifiedAt.goe(since).or(post.modifiedAt.goe(since)))
+                .fetch();
+    }
+    // 증분 동기화 : since 이후 변경되면서 더 이상 보이지 않게 된 일정 id
+    // (공개범위 변경, 구독 일정 숨김) - 클라이언트에서는 삭제와 같게 처리
+    public List<Long> findChangedHiddenPostIds(User master, List<ScopeEnum> scopes, LocalDateTime since){
+        List<Long> postIds = new ArrayList<>(jpaQueryFactory
+                .select(post.id)
+                .from(post)
+                .where(post.user.eq(master), post.scope.notIn(scopes), post.modifiedAt.goe(since))
+                .fetch());
+        postIds.addAll(jpaQueryFactory
+                .select(subscribeTimeline.post.id)
+                .from(subscribeTimeline)
+                .where(subscribeTimeline.reader.eq(master),
+                        subscribeTimeline.isVisible.eq(false),
+                        subscribeTimeline.modifiedAt.goe(since))
+                .fetch());
+        postIds.addAll(jpaQueryFactory
+                .select(post.id)
+                .from(postSubscribe)
+                .join(postSubscribe.post, post)
+                .where(postSubscribe.user.eq(master),
+                        postSubscribe.postSubscribeCheck.eq(true),
+                        post.scope.notIn(scopes),
+                        post.modifiedAt.goe(since))
+                .fetch());
+        return postIds;
+    }
+    // 나만보기를 제외한 모든 일정의 (작성자 + 태그된 유저) 목록 : ScheduleIndex 적재용
+    public List<PostScheduleDto> findAllSchedules(){
+        List<PostScheduleDto> schedules = new ArrayList<>(jpaQueryFactory
+                .select(Projections.constructor(PostScheduleDto.class,
+                        post.id, post.user.id, post.startDate, post.endDate, post.startTime, post.endTime))
+                .from(post)
+                .where(post.scope.ne(ScopeEnum.ME))
+                .fetch());
+        schedules.addAll(jpaQueryFactory
+                .select(Projections.constructor(PostScheduleDto.class,
+                        post.id, tag.user.id, post.startDate, post.endDate, post.startTime, post.endTime))
+                .from(tag)
+                .join(tag.post, post)
+                .where(post.scope.ne(ScopeEnum.ME))
+                .fetch());
+        return schedules;
+    }
+    private <T> List<T> fetchOwnPost(Expression<T> projection, User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to){
+        return jpaQueryFactory
+                .select(projection)
+                .from(post)
+                .where(post.user.eq(master), post.scope.in(scopes), periodOverlap(post.startDate, post.endDate, from, to))
+                .fetch();
+    }
+    private <T> List<T> fetchSubscribingPost(Expression<T> projection, User user, LocalDate from, LocalDate to){
+        return jpaQueryFactory
+                .select(projection)
+                .from(subscribeTimeline)
+                .join(subscribeTimeline.post, post)
+                .where(subscribeTimeline.reader.eq(user),
+                        subscribeTimeline.isVisible.eq(true),
+                        periodOverlap(subscribeTimeline.startDate, subscribeTimeline.endDate, from, to))
+                .fetch();
+    }
+    private <T> List<T> fetchSharedPost(Expression<T> projection, User master, List<ScopeEnum> scopes, LocalDate from, LocalDate to){
+        return jpaQueryFactory
+                .select(projection)
+                .from(postSubscribe)
+                .join(postSubscribe.post, post)
+                .where(postSubscribe.user.eq(master),
+                        postSubscribe.postSubscribeCheck.eq(true),
+                        post.scope.in(scopes),
+                        periodOverlap(post.startDate, post.endDate, from, to))
+                .fetch();
+    }
+    private ConstructorExpression<HomeResponseDto> homeProjection(Expression<ColorEnum> color){
+        return Projections.constructor(HomeResponseDto.class,
+                post.id, post.title, post.startDate, post.endDate, post.startTime, post.endTime, color);
+    }
+    private ConstructorExpression<TodayPostResponseDto> todayProjection(Expression<ColorEnum> color){
+        return Projections.constructor(TodayPostResponseDto.class,
+                post.id, post.title, post.startDate, post.endDate, post.startTime, post.endTime, post.location, post.content, color);
+    }
+    // 조회 기간(from ~ to)과 겹치는 일정 : startDate <= to AND endDate >= from (null이면 해당 조건 생략)
+    // post 와 subscribeTimeline(일정 기간을 복사해 둠) 이 같이 씀
+    private BooleanExpression periodOverlap(DatePath<LocalDate> startDate, DatePath<LocalDate> endDate, LocalDate from, LocalDate to){
+        BooleanExpression expression = null;
+        if (to != null) {
+            expression = startDate.loe(to);
+        }
+        if (from != null) {
+            expression = expression == null ? endDate.goe(from) : expression.and(endDate.goe(from));
+        }
+        return expression;
+    }
 }
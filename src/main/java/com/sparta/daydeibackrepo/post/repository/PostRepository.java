@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import com.sparta.daydeibackrepo.user.entity.User;
@@ -13,10 +14,12 @@ import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
 import org.springframework.security.core.parameters.P;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long>, PostCustomRepository {
-    @Query("SELECT p FROM Post p WHERE " +
-            "p.user = :subscriberId AND p.startDate <= :date AND p.endDate >= :date AND p.scope = :scope ORDER BY p.startTime DESC")
-    List<Post> findSubscribeTodayPost(User subscriberId, LocalDate date, ScopeEnum scope);
+    // 상세 조회용 : 이미지, 작성자를 함께 가져옴
+    @EntityGraph(value = "Post.detail")
+    @Query("SELECT p FROM Post p WHERE p.id = :postId")
+    Optional<Post> findDetailById(Long postId);
     List<Post> findTop5ByUserAndScopeInAndModifiedAtNotNullOrderByModifiedAtDesc(User user, List<ScopeEnum> allowedScopes, Pageable pageable);
 }
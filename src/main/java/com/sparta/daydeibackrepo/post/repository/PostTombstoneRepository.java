@@ -0,0 +1,33 @@
+package com.sparta.daydeibackrepo.post.repository;
+
+import com.sparta.daydeibackrepo.post.entity.PostTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostTombstoneRepository extends JpaRepository<PostTombstone, Long> {
+
+    @Query("SELECT t.postId FROM PostTombstone t WHERE t.userId = :userId AND t.deletedAt >= :since")
+    List<Long> findPostIdsByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // 구독 타임라인에서 빠지는 일정 : 해당 일정을 받아보던 구독자 전원
+    @Modifying
+    @Query(value = "INSERT INTO post_tombstone (user_id, post_id, deleted_at) " +
+            "SELECT t.reader_id, t.post_id, :now FROM subscribe_timeline t WHERE t.post_id = :postId", nativeQuery = true)
+    int insertTimelineReaders(@Param("postId") Long postId, @Param("now") LocalDateTime now);
+
+    // 구독 취소 : 구독자 타임라인에서 작성자의 일정 전부
+    @Modifying
+    @Query(value = "INSERT INTO post_tombstone (user_id, post_id, deleted_at) " +
+            "SELECT t.reader_id, t.post_id, :now FROM subscribe_timeline t " +
+            "WHERE t.reader_id = :readerId AND t.owner_id = :ownerId", nativeQuery = true)
+    int insertTimelineSubscribe(@Param("readerId") Long readerId, @Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PostTombstone t WHERE t.deletedAt < :before")
+    int deleteAllBefore(@Param("before") LocalDateTime before);
+}
@@ -1,19 +1,19 @@
 package com.sparta.daydeibackrepo.post.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
-import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
-import com.sparta.daydeibackrepo.mail.dto.MailDto;
-import com.sparta.daydeibackrepo.mail.service.MailService;
-import com.sparta.daydeibackrepo.notification.entity.NotificationType;
-import com.sparta.daydeibackrepo.notification.service.NotificationService;
+import com.sparta.daydeibackrepo.friend.service.RelationshipResolver;
+import com.sparta.daydeibackrepo.lease.aop.ScheduledWithLease;
 import com.sparta.daydeibackrepo.post.dto.*;
 import com.sparta.daydeibackrepo.post.entity.ColorEnum;
 import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.PostTombstone;
 import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
 import com.sparta.daydeibackrepo.post.repository.PostRepository;
+import com.sparta.daydeibackrepo.post.repository.PostTombstoneRepository;
 import com.sparta.daydeibackrepo.postSubscribe.entity.PostSubscribe;
 import com.sparta.daydeibackrepo.postSubscribe.repository.PostSubscribeRepository;
 import com.sparta.daydeibackrepo.postSubscribe.service.PostSubscribeService;
+import com.sparta.daydeibackrepo.reminder.service.ReminderService;
 import com.sparta.daydeibackrepo.s3.service.S3Service;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
 import com.sparta.daydeibackrepo.tag.entity.Tag;
@@ -21,17 +21,20 @@ import com.sparta.daydeibackrepo.user.entity.User;
 import com.sparta.daydeibackrepo.user.entity.UserRoleEnum;
 import com.sparta.daydeibackrepo.tag.repository.TagRepository;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
+import com.sparta.daydeibackrepo.userSubscribe.service.SubscribeTimelineService;
 import com.sparta.daydeibackrepo.util.StatusResponseDto;
 import lombok.RequiredArgsConstructor;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.ZoneId;
 
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +42,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -53,7 +57,6 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final FriendRepository friendRepository;
     private final TagRepository tagRepository;
     private final UserSubscribeRepository userSubscribeRepository;
     private final PostSubscribeRepository postSubscribeRepository;
@@ -61,8 +64,17 @@ public class PostService {
     private final PostSubscribeService postSubscribeService;
 
     private final S3Service s3Service;
-    private final MailService mailService;
-    private final NotificationService notificationService;
+    private final ScheduleIndex scheduleIndex;
+    private final SubscribeTimelineService subscribeTimelineService;
+    private final RelationshipResolver relationshipResolver;
+    private final PostTombstoneRepository postTombstoneRepository;
+    private final CalendarVersionService calendarVersionService;
+    private final ReminderService reminderService;
+
+    // 삭제 기록 보관 기간 (이보다 오래된 동기화 토큰은 전체 조회로 되돌림)
+    private static final long TOMBSTONE_RETENTION_DAYS = 30;
+    // WAS 간 시계 차이, 커밋 지연을 감안해 토큰 시각보다 조금 앞에서부터 다시 조회 (중복은 클라이언트에서 덮어씀)
+    private static final long SYNC_OVERLAP_SECONDS = 5;
 
     private boolean hasAuthority(User user, Post post) {
         return user.getId().equals(post.getUser().getId()) || user.getRole().equals(UserRoleEnum.ADMIN);
@@ -89,22 +101,17 @@ public class PostService {
             throw new CustomException(TIME_SETTING_IS_INCORRECT);
         }
 
-        for (Long participant : requestDto.getParticipant()) {
-//            List<Friend> friends = friendRepository.findidFriendList(participant, user);
-            User joiner = userRepository.findById(participant).orElseThrow(
-                    () -> new CustomException(USER_NOT_FOUND)
-            );
-            Tag tag = new Tag(joiner, savePost);
-            tagRepository.save(tag);
-        }
-        List<User> joiners = new ArrayList<>();
-        List<Tag> tags = tagRepository.findAllByPostId(savePost.getId());
+        // 참여자는 한 번에 조회하고 Tag, PostSubscribe 는 batch insert
+        List<User> joiners = findParticipants(requestDto.getParticipant());
+        List<Long> joinerIds = joiners.stream().map(User::getId).collect(Collectors.toList());
+        tagRepository.bulkInsert(savePost.getId(), joinerIds);
 
-        for (Tag tag : tags) {
-            joiners.add(tag.getUser());
-        }
         postUpdateCheck(post, user);
-        postSubscribeService.createJoin(savePost.getId(), joiners, userDetails);
+        postSubscribeService.createJoin(savePost, joiners, user);
+        scheduleIndex.put(savePost, joinerIds);
+        subscribeTimelineService.fanOut(savePost);
+        reminderService.schedule(savePost);
+        calendarVersionService.bumpPost(savePost);
         return StatusResponseDto.toResponseEntity(POST_CREATED_SUCCESS);
 
 
@@ -125,7 +132,7 @@ public class PostService {
         User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
-        Post post = postRepository.findById(postId).orElseThrow(
+        Post post = postRepository.findDetailById(postId).orElseThrow(
                 () -> new CustomException(POST_NOT_FOUND)
         );
 
@@ -154,11 +161,11 @@ public class PostService {
 //        List<UserSubscribe> userSubscribes = userSubscribeRepository.findAllBySubscriberId(post.getUser());
 //        UserSubscribe userSubscribe = userSubscribeRepository.findBySubscribingIdAndSubscriberId(post.getUser(), user);
         //로그인한유저 -> postId의 post의 user(작성자)
-        List<User> friends = friendRepository.findAllFriends(post.getUser());
+        int relation = relationshipResolver.resolve(user, post.getUser());
 
-        if (post.getScope() == ScopeEnum.ME && !Objects.equals(post.getUser().getId(), user.getId())) {
+        if (post.getScope() == ScopeEnum.ME && !RelationshipResolver.isSelf(relation)) {
             throw new CustomException(POST_VIEW_ONLY_CREATOR_FORBIDDEN);
-        } else if (post.getScope() == ScopeEnum.FRIEND && !friends.contains(user) && post.getUser() != user) {
+        } else if (post.getScope() == ScopeEnum.FRIEND && !RelationshipResolver.isSelfOrFriend(relation)) {
             throw new CustomException(POST_VIEW_ONLY_FRIEND_FORBIDDEN);
         } else {
             return PostResponseDto.of(post, writerResponseDto, participants, subscribeCheck, colorEnum);
@@ -172,24 +179,12 @@ public class PostService {
         User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
-        Post post = postRepository.findById(postId).orElseThrow(
+        Post post = postRepository.findDetailById(postId).orElseThrow(
                 () -> new CustomException(POST_NOT_FOUND)
         );
-
-        WriterResponseDto writerResponseDto = new WriterResponseDto(post.getUser().getId(), post.getUser().getProfileImage(), post.getUser().getNickName());
-
-
-        List<Tag> tags = tagRepository.findAllByPostId(postId);
-        List<Long> friends = requestDto.getParticipant();
-        List<ParticipantsResponseDto> participants = new ArrayList<>();
-
-        tagRepository.deleteAll(tags);
-
-        for (Long friend : friends) {
-            ParticipantsResponseDto ParticipantsResponseDto = new ParticipantsResponseDto(friend, userRepository.findById(friend).get().getProfileImage(), userRepository.findById(friend).get().getNickName());
-            Tag tag = new Tag(userRepository.findById(friend).get(), post);
-            tagRepository.save(tag);
-            participants.add(ParticipantsResponseDto);
+        // 권한, 시간 검사를 먼저 해서 실패하는 요청은 아무것도 쓰지 않음
+        if (!hasAuthority(user, post)) {
+            throw new CustomException(UNAUTHORIZED_UPDATE_OR_DELETE);
         }
 
 //        List<String> imageUrl = s3Service.uploadFiles(requestDto.getImage(), "images");
@@ -203,6 +198,36 @@ public class PostService {
             throw new CustomException(TIME_SETTING_IS_INCORRECT);
         }
 
+        WriterResponseDto writerResponseDto = new WriterResponseDto(post.getUser().getId(), post.getUser().getProfileImage(), post.getUser().getNickName());
+
+
+        List<Tag> tags = tagRepository.findAllByPostId(postId);
+        List<User> joiners = findParticipants(requestDto.getParticipant());
+        List<Long> friends = joiners.stream().map(User::getId).collect(Collectors.toList());
+        List<ParticipantsResponseDto> participants = new ArrayList<>();
+
+        // 기존 태그와 비교해서 빠진 참여자만 삭제, 새 참여자만 insert
+        Set<Long> requestedIds = new HashSet<>(friends);
+        Set<Long> taggedIds = new HashSet<>();
+        List<Tag> removedTags = new ArrayList<>();
+        for (Tag tag : tags) {
+            taggedIds.add(tag.getUser().getId());
+            if (!requestedIds.contains(tag.getUser().getId())) {
+                removedTags.add(tag);
+            }
+        }
+        List<Long> addedIds = friends.stream()
+                .filter(id -> !taggedIds.contains(id))
+                .collect(Collectors.toList());
+        if (!removedTags.isEmpty()) {
+            tagRepository.deleteAllInBatch(removedTags);
+        }
+        tagRepository.bulkInsert(post.getId(), addedIds);
+
+        for (User joiner : joiners) {
+            participants.add(new ParticipantsResponseDto(joiner.getId(), joiner.getProfileImage(), joiner.getNickName()));
+        }
+
         PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getId(), user.getId());
         Boolean subscribeCheck = null;
         ColorEnum colorEnum = post.getColor();
@@ -212,21 +237,19 @@ public class PostService {
         }
 
         //태그당한 친구에게 알림
-
-        if (hasAuthority(user, post)) {
-            post.update(requestDto, startDate, endDate, startTime, endTime);
-            List<User> joiners = new ArrayList<>();
-            List<Tag> newTags = tagRepository.findAllByPostId(post.getId());
-
-            for (Tag tag : newTags) {
-                joiners.add(tag.getUser());
-            }
-            postUpdateCheck(post, user);
-            postSubscribeService.updateJoin(postId, joiners, userDetails);
-            return PostResponseDto.of(post, writerResponseDto, participants, subscribeCheck, colorEnum);
+        calendarVersionService.bumpPost(post); // 수정 전 참여자 기준
+        boolean periodChanged = !Objects.equals(startDate, post.getStartDate()) || !Objects.equals(endDate, post.getEndDate())
+                || !Objects.equals(startTime, post.getStartTime()) || !Objects.equals(endTime, post.getEndTime());
+        ScopeEnum previousScope = post.getScope();
+        post.update(requestDto, startDate, endDate, startTime, endTime);
+        postUpdateCheck(post, user);
+        postSubscribeService.updateJoin(post, joiners, user, periodChanged);
+        scheduleIndex.put(post, friends);
+        subscribeTimelineService.refresh(post, previousScope, periodChanged);
+        if (periodChanged) {
+            reminderService.schedule(post);
         }
-        throw new CustomException(UNAUTHORIZED_UPDATE_OR_DELETE);
-
+        return PostResponseDto.of(post, writerResponseDto, participants, subscribeCheck, colorEnum);
     }
 
     @Transactional
@@ -247,6 +270,10 @@ public class PostService {
 
         if (hasAuthority(user, post)) {
             post.dragUpdate(startDate, endDate);
+            calendarVersionService.bumpPost(post);
+            scheduleIndex.reschedule(post);
+            subscribeTimelineService.reschedule(post);
+            reminderService.schedule(post);
 
             return StatusResponseDto.toResponseEntity(POST_DATE_PUT_SUCCESS);
         }
@@ -270,8 +297,14 @@ public class PostService {
             for (Tag tag : tags) {
                 joiners.add(tag.getUser());
             }
-            postSubscribeService.deleteJoin(post.getId(), joiners, userDetails);
+            calendarVersionService.bumpPost(post);
+            postSubscribeService.deleteJoin(post, joiners, user);
+            tagRepository.deleteAllInBatch(tags);
+            subscribeTimelineService.retract(post);
+            reminderService.cancel(post);
+            postTombstoneRepository.save(new PostTombstone(post.getUser().getId(), post.getId(), LocalDateTime.now()));
             postRepository.delete(post);
+            scheduleIndex.remove(post.getId());
 
             return StatusResponseDto.toResponseEntity(POST_DELETE_SUCCESS);
         }
@@ -291,15 +324,16 @@ public class PostService {
 
         LocalDate localDate = LocalDate.parse(date, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
-        List<Post> subscribePosts = getSubscribePosts(master, localDate); //구독한 포스트들
-        List<Post> allowedTaggedPosts = getAllowedTaggedPosts(master, visitor, localDate); //태그 당한 포스트들
-        List<Post> allowedOwnPosts = getAllowedOwnPosts(master, visitor, localDate); // 직접 작성한 포스트들
+        List<ScopeEnum> allowedScopes = getAllowedScopes(relationshipResolver.resolve(visitor, master));
+        List<TodayPostResponseDto> subscribePosts = postRepository.findTodaySubscribingPost(master, localDate); //구독한 포스트들
+        List<TodayPostResponseDto> allowedTaggedPosts = postRepository.findTodaySharedPost(master, allowedScopes, localDate); //태그 당한 포스트들
+        List<TodayPostResponseDto> allowedOwnPosts = postRepository.findTodayPost(master, allowedScopes, localDate); // 직접 작성한 포스트들
 
 
         List<TodayPostResponseDto> todayPostResponseDtos = Stream.of(
-                        subscribePosts.stream().map(post -> new TodayPostResponseDto(post, ColorEnum.GRAY)),
-                        allowedTaggedPosts.stream().map(post -> new TodayPostResponseDto(post, ColorEnum.GRAY)),
-                        allowedOwnPosts.stream().map(post -> new TodayPostResponseDto(post, post.getColor()))
+                        subscribePosts.stream(),
+                        allowedTaggedPosts.stream(),
+                        allowedOwnPosts.stream()
                 )
                 .flatMap(Function.identity())
                 .sorted(Comparator.comparing(o -> LocalDateTime.of(o.getStartDate(), o.getStartTime())))
@@ -309,66 +343,30 @@ public class PostService {
     }
 
     //내가 구독하는 유저가 스크랩 가능으로 글을 올리고 나를 태그했다. > 현재는 2번 불러옴 > 1번만 불러올 수 있도록 고쳐야함.
-    @Transactional
-    public List<HomeResponseDto> getHomePost(Long userId, UserDetailsImpl userDetails) {
+    // from, to (yyyy-MM-dd) 를 주면 해당 기간(월간/주간 보기)과 겹치는 일정만 조회
+    @Transactional(readOnly = true)
+    public List<HomeResponseDto> getHomePost(Long userId, String from, String to, UserDetailsImpl userDetails) {
         User visitor = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
         User master = userRepository.findById(userId).orElseThrow(
                 () -> new CustomException(UNAUTHORIZED_MEMBER)
         );
-        List<HomeResponseDto> homeResponseDtos = new ArrayList<>();
-        // 홈페이지 주인이 본인인경우 (작성한 일정 : 다 보이게 / 구독하는 일정 : 다 보이게 / 공유 일정 : 다 보이게)
-        if (master == visitor) {
-            // 내가 작성한 일정
-            List<Post> AllPosts = postRepository.findAllPostByUser(master);
-            // 내가 구독하는 일정 // 모든 구독자의 일정이 아니라 마스터가 체크 표시 했는지가 중요. + usersubscrbingId를 넣으면 포스트가 나오게 필터링
-            /*List<UserSubscribe> userSubscribes = userSubscribeRepository.findAllBySubscribingId(master); // 이거 필터링할때 체크여부까지 확인해야함 (작업필요)
-            for (UserSubscribe userSubscribe : userSubscribes) {
-                List<Post> subscribePost = postRepository.findSubscribePost(userSubscribe.getSubscriberId());*/
-            List<Post> subscribePost = postRepository.findSubscribingPost(master);
-            for (Post post : subscribePost) {
-                AllPosts.add(new Post(post, ColorEnum.GRAY));
-            }
-            // 나를 태그한 공유일정
-            List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByUserId(master.getId());
-            for (PostSubscribe postSubscribe : postSubscribes) {
-                if (postSubscribe.getPostSubscribeCheck()) {
-                    AllPosts.add(new Post(postSubscribe.getPost(), ColorEnum.GRAY));
-                }
-            }
-            for (Post post : AllPosts) {
-                homeResponseDtos.add(new HomeResponseDto(post));
-            }
-        }
-        // 홈페이지 주인과 친구X 인경우 (작성한 일정 : 전체공개(스크랩 허용, 비허용) / 친구O 인경우 (작성한 일정 : 친구공개 추가)
-        // 구독하는 일정 : 다 보이게 / 공유 일정 : 포스트 주인의 공개범위에 따라 결정)
-        else {
-            List<Post> AllPosts;
-            // Master가 작성한 일정
-            if (friendRepository.findFriend(master, visitor) != null) {
-                AllPosts = postRepository.findFriendPost(master);
-            } else {
-                AllPosts = postRepository.findNotFriendPost(master);
-            }
-            // Master가 구독하는 일정
-            List<Post> subscribePost = postRepository.findSubscribingPost(master);
-            for (Post post : subscribePost) {
-                AllPosts.add(new Post(post, ColorEnum.GRAY));
-            }
-            // Master를 태그한 공유일정
-            List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByUserId(master.getId());
-            for (PostSubscribe postSubscribe : postSubscribes) {
-                if (postSubscribe.getPostSubscribeCheck() && (postSubscribe.getPost().getScope() == ScopeEnum.ALL || postSubscribe.getPost().getScope() == ScopeEnum.SUBSCRIBE)) {
-                    AllPosts.add(new Post(postSubscribe.getPost(), ColorEnum.GRAY));
-                } else if (postSubscribe.getPostSubscribeCheck() && postSubscribe.getPost().getScope() == ScopeEnum.FRIEND && friendRepository.findFriend(master, visitor) != null) {
-                    AllPosts.add(new Post(postSubscribe.getPost(), ColorEnum.GRAY));
-                }
-            }
-            for (Post post : AllPosts) {
-                homeResponseDtos.add(new HomeResponseDto(post));
-            }
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new CustomException(START_DATE_MUST_BE_EARLY_END_DATE);
         }
+        // 본인인경우 모든 공개범위, 친구인경우 친구공개까지, 그 외에는 전체공개(스크랩 허용, 비허용)만
+        // 구독/공유 일정은 프로젝션에서 GRAY 로 내려옴
+        List<ScopeEnum> allowedScopes = getAllowedScopes(relationshipResolver.resolve(visitor, master));
+        List<HomeResponseDto> homeResponseDtos = new ArrayList<>();
+        // Master가 작성한 일정
+        homeResponseDtos.addAll(postRepository.findHomePost(master, allowedScopes, fromDate, toDate));
+        // Master가 구독하는 일정 (구독 표시 체크한 것만)
+        homeResponseDtos.addAll(postRepository.findHomeSubscribingPost(master, fromDate, toDate));
+        // Master를 태그한 공유일정 (수락한 것만, 포스트 주인의 공개범위에 따라 결정)
+        homeResponseDtos.addAll(postRepository.findHomeSharedPost(master, allowedScopes, fromDate, toDate));
         Collections.sort(homeResponseDtos, (o1, o2) -> {
             LocalDateTime o1DateTime = LocalDateTime.of(o1.getStartDate(), o1.getStartTime());
             LocalDateTime o2DateTime = LocalDateTime.of(o2.getStartDate(), o2.getStartTime());
@@ -377,6 +375,52 @@ public class PostService {
         return homeResponseDtos;
     }
 
+    // 증분 동기화 : syncToken 이후 추가/수정/삭제된 일정만 반환 (토큰이 없으면 전체)
+    @Transactional(readOnly = true)
+    public PostSyncResponseDto getSyncPost(Long userId, String syncToken, UserDetailsImpl userDetails) {
+        User visitor = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
+                () -> new CustomException(UNAUTHORIZED_MEMBER)
+        );
+        User master = userRepository.findById(userId).orElseThrow(
+                () -> new CustomException(USER_NOT_FOUND)
+        );
+        LocalDateTime now = LocalDateTime.now();
+        String nextToken = encodeSyncToken(now);
+        List<ScopeEnum> allowedScopes = getAllowedScopes(relationshipResolver.resolve(visitor, master));
+
+        if (syncToken == null || syncToken.isBlank()) {
+            List<HomeResponseDto> changed = new ArrayList<>();
+            changed.addAll(postRepository.findHomePost(master, allowedScopes, null, null));
+            changed.addAll(postRepository.findHomeSubscribingPost(master, null, null));
+            changed.addAll(postRepository.findHomeSharedPost(master, allowedScopes, null, null));
+            return new PostSyncResponseDto(true, changed, Collections.emptyList(), nextToken);
+        }
+
+        LocalDateTime since = decodeSyncToken(syncToken).minusSeconds(SYNC_OVERLAP_SECONDS);
+        if (since.isBefore(now.minusDays(TOMBSTONE_RETENTION_DAYS))) {
+            throw new CustomException(SYNC_TOKEN_EXPIRED);
+        }
+        List<HomeResponseDto> changed = new ArrayList<>();
+        changed.addAll(postRepository.findChangedHomePost(master, allowedScopes, since));
+        changed.addAll(postRepository.findChangedSubscribingPost(master, since));
+        changed.addAll(postRepository.findChangedSharedPost(master, allowedScopes, since));
+
+        Set<Long> deleted = new LinkedHashSet<>(postTombstoneRepository.findPostIdsByUserIdSince(master.getId(), since));
+        deleted.addAll(postRepository.findChangedHiddenPostIds(master, allowedScopes, since));
+        // 다른 경로(구독/공유)로 여전히 보이는 일정은 삭제 목록에서 제외
+        for (HomeResponseDto dto : changed) {
+            deleted.remove(dto.getId());
+        }
+        return new PostSyncResponseDto(false, changed, new ArrayList<>(deleted), nextToken);
+    }
+
+    @Scheduled(cron = "0 30 4 * * ?")
+    @ScheduledWithLease(name = "deleteExpiredTombstones", leaseSeconds = 60 * 60)
+    @Transactional
+    public void deleteExpiredTombstones() {
+        postTombstoneRepository.deleteAllBefore(LocalDateTime.now().minusDays(TOMBSTONE_RETENTION_DAYS));
+    }
+
     @Transactional // 업데이트 된 일정 (최근 일주일)
     public List<PostResponseDto> getUpdatePost(Long userId, UserDetailsImpl userDetails) {
         User visitor = userRepository.findById(userDetails.getUser().getId()).orElseThrow(
@@ -385,7 +429,7 @@ public class PostService {
         User master = userRepository.findById(userId).orElseThrow(
                 () -> new CustomException(USER_NOT_FOUND)
         );
-        List<ScopeEnum> allowedScopes = getAllowedScopes(master, visitor);
+        List<ScopeEnum> allowedScopes = getAllowedScopes(relationshipResolver.resolve(visitor, master));
         // master가 직접 작성한 것도 최신순으로 5개만 가지고 오기
         List<Post> posts = postRepository.findTop5ByUserAndScopeInAndModifiedAtNotNullOrderByModifiedAtDesc(
                 master, allowedScopes, PageRequest.of(0, 5)
@@ -463,15 +507,20 @@ public class PostService {
         }
     }
 
+    // 친구 삭제 시 서로의 캘린더에 있던 생일 일정 삭제 (deletePost 처럼 증분 동기화용 삭제 기록을 남김)
     public void deleteBirthday(User user1, User user2) {
-        Post post1 = postRepository.findBirthdayPost(user1, user2);
-        Post post2 = postRepository.findBirthdayPost(user2, user1);
-        if (post1 != null) {
-            postRepository.delete(post1);
-        }
-        if (post2 != null) {
-            postRepository.delete(post2);
+        deleteBirthdayPost(postRepository.findBirthdayPost(user1, user2));
+        deleteBirthdayPost(postRepository.findBirthdayPost(user2, user1));
+    }
+
+    private void deleteBirthdayPost(Post post) {
+        if (post == null) {
+            return;
         }
+        reminderService.cancel(post);
+        postTombstoneRepository.save(new PostTombstone(post.getUser().getId(), post.getId(), LocalDateTime.now()));
+        postRepository.delete(post);
+        scheduleIndex.remove(post.getId());
     }
 
     public void createBirthdayPost(PostRequestDto requestDto, User user) {
@@ -511,16 +560,6 @@ public class PostService {
         return false;
 }
 
-    // 구독한 계정의 일정 중에서 subscribe허용 && date에 해당하는 일정들 가져오는 메서드
-    private List<Post> getSubscribePosts(User user, LocalDate localDate) {
-        List<Post> subscribePosts = new ArrayList<>();
-        List<UserSubscribe> userSubscribes = userSubscribeRepository.findAllBySubscribingIdAndIsVisible(user, true);
-        for (UserSubscribe userSubscribe : userSubscribes) {
-            subscribePosts.addAll(postRepository.findSubscribeTodayPost(userSubscribe.getSubscriberId(), localDate, ScopeEnum.SUBSCRIBE));
-        }
-        return subscribePosts;
-    }
-
     // master가 작성한 일정한 일정 & 태그 당했고 수락한 일정
     // master와 visitor의 관계를 판단하여 scope권한이 있으며 && localDate에 해당하는 일정만 가져오는 메서드
 //    private List<Post> getAllowedPosts(User master, User visitor, LocalDate localDate) {
@@ -554,52 +593,55 @@ public class PostService {
 //        return allowedPosts;
 //    }
 
-    private List<Post> getAllowedTaggedPosts(User master, User visitor, LocalDate localDate) {
-        List<Post> allowedPosts = new ArrayList<>();
-        List<ScopeEnum> allowedScopes = getAllowedScopes(master, visitor);
-
-        List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByUserIdAndPostSubscribeCheck(master.getId(), true);
-        for (PostSubscribe postSubscribe : postSubscribes) {
-            Post post = postSubscribe.getPost();
-            if (allowedScopes.contains(post.getScope())) {
-                // 날짜 필터링
-                LocalDate startDate = post.getStartDate();
-                LocalDate endDate = post.getEndDate();
-                if ((startDate.isBefore(localDate) || startDate.equals(localDate)) && (endDate.isAfter(localDate) || endDate.equals(localDate))) {
-                    allowedPosts.add(post);
-                }
-            }
+    //visitor -> master 관계(RelationshipResolver)로 허용하는 ScopeEnum을 리스트로 반환
+    private List<ScopeEnum> getAllowedScopes(int relation) {
+        List<ScopeEnum> allowedScopes = new ArrayList<>(Arrays.asList(ScopeEnum.ALL, ScopeEnum.SUBSCRIBE));
+        if (RelationshipResolver.isSelfOrFriend(relation)) {
+            allowedScopes.add(ScopeEnum.FRIEND);
         }
-        return allowedPosts;
+        if (RelationshipResolver.isSelf(relation)) {
+            allowedScopes.add(ScopeEnum.ME);
+        }
+        return allowedScopes;
     }
 
-    private List<Post> getAllowedOwnPosts(User master, User visitor, LocalDate localDate) {
-        List<Post> allowedPosts = new ArrayList<>();
-        List<ScopeEnum> allowedScopes = getAllowedScopes(master, visitor);
-
-        List<Post> myPosts = postRepository.findAllPostByUser(master);
-        myPosts.removeIf(post -> post.getStartDate().isAfter(localDate) || post.getEndDate().isBefore(localDate));
+    // 동기화 토큰 : 서버 기준 조회 시각(epoch millis)을 Base64 로 감싼 값. 클라이언트는 내용을 해석하지 않는다.
+    private String encodeSyncToken(LocalDateTime dateTime) {
+        long millis = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(millis).getBytes());
+    }
 
-        for (Post post : myPosts) {
-            if (allowedScopes.contains(post.getScope())) {
-                allowedPosts.add(post);
-            }
+    private LocalDateTime decodeSyncToken(String syncToken) {
+        try {
+            long millis = Long.parseLong(new String(Base64.getUrlDecoder().decode(syncToken)));
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(INVALID_SYNC_TOKEN);
         }
-        return allowedPosts;
     }
 
+    // 참여자 id 목록을 한 번의 쿼리로 조회 (중복 제거, 없는 유저가 있으면 예외)
+    private List<User> findParticipants(List<Long> participantIds) {
+        if (participantIds == null || participantIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> ids = new LinkedHashSet<>(participantIds);
+        List<User> joiners = userRepository.findAllById(ids);
+        if (joiners.size() != ids.size()) {
+            throw new CustomException(USER_NOT_FOUND);
+        }
+        return joiners;
+    }
 
-    //master와 visitor의 관계를 판단하여 허용하는 ScopeEnum을 리스트로 반환
-    private List<ScopeEnum> getAllowedScopes(User master, User visitor) {
-        List<ScopeEnum> allowedScopes = new ArrayList<>(Arrays.asList(ScopeEnum.ALL, ScopeEnum.SUBSCRIBE));
-        if (friendRepository.findFriend(master, visitor) != null) {
-            allowedScopes.add(ScopeEnum.FRIEND);
+    private LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
         }
-        if (visitor == master) {
-            allowedScopes.add(ScopeEnum.ME);
-            allowedScopes.add(ScopeEnum.FRIEND);
+        try {
+            return LocalDate.parse(date, DateTimeFormatter.ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new CustomException(INVALID_DATE_FORMAT);
         }
-        return allowedScopes;
     }
 
     private List<ParticipantsResponseDto> getParticipants(Post post) {
@@ -620,15 +662,4 @@ public class PostService {
             user.friendUpdateCheck();
         }
     }
-
-    @Async
-    @Scheduled(cron = "0 0 * * * ?")
-    @Transactional
-    public void notifySchedule() {
-        List<Post> notifySchedules = postRepository.findNofitySchedule();
-        for (Post post : notifySchedules) {
-            mailService.sendScheduleNotifyMail(new MailDto(post));
-            notificationService.send(post.getUser().getId(), NotificationType.SCHEDULE_NOTIFY, NotificationType.SCHEDULE_NOTIFY.makeContent(post.getTitle()), post.getId());
-        }
-    }
 }
@@ -0,0 +1,285 @@
+package com.sparta.daydeibackrepo.post.service;
+
+import com.sparta.daydeibackrepo.post.dto.PostScheduleDto;
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
+import com.sparta.daydeibackrepo.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// 유저별 일정 구간 인덱스 (태그 검색 시 "X ~ Y 사이에 일정이 있는 유저" 판단용)
+// 유저마다 시작 시각, 종료 시각을 각각 정렬해서 들고 있고
+// 겹치는 일정 수 = 전체 - (종료 <= X 인 일정 수) - (시작 >= Y 인 일정 수) 를 이분탐색으로 구한다.
+// 나만보기(ME) 일정은 태그 검색에서 제외되므로 인덱스에 넣지 않는다.
+// 일정 생성/수정/삭제는 커밋된 뒤에 반영하고 (롤백되면 그대로), 다시 적재하는 동안 들어온 변경은 모아 뒀다가 교체 후 다시 적용한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleIndex {
+    private final PostRepository postRepository;
+
+    private Map<Long, Schedule> schedules = new HashMap<>();
+    private Map<Long, BusyTimes> busyTimes = new HashMap<>();
+    // 다시 적재하는 중에 반영된 변경 (적재 중이 아니면 null)
+    private List<Runnable> changesDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // 다른 WAS 인스턴스에서 변경된 일정도 반영되도록 주기적으로 다시 적재
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            swap(loadSchedules());
+        } finally {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    private Map<Long, Schedule> loadSchedules() {
+        Map<Long, Schedule> newSchedules = new HashMap<>();
+        for (PostScheduleDto dto : postRepository.findAllSchedules()) {
+            Schedule schedule = newSchedules.computeIfAbsent(dto.getPostId(),
+                    postId -> new Schedule(toMinutes(dto.getStartDate(), dto.getStartTime(), dto.getEndDate(), dto.getEndTime())));
+            schedule.userIds.add(dto.getUserId());
+        }
+        return newSchedules;
+    }
+
+    // 읽는 동안 커밋된 변경은 DB 에서 읽은 값에 이미 들어 있을 수도 있으나, 변경은 모두 "지금 값으로 다시 등록/삭제" 라 두 번 적용해도 같다.
+    private void swap(Map<Long, Schedule> newSchedules) {
+        Map<Long, BusyTimes> newBusyTimes = new HashMap<>();
+        for (Schedule schedule : newSchedules.values()) {
+            for (Long userId : schedule.userIds) {
+                newBusyTimes.computeIfAbsent(userId, id -> new BusyTimes()).add(schedule.start, schedule.end);
+            }
+        }
+        synchronized (this) {
+            schedules = newSchedules;
+            busyTimes = newBusyTimes;
+            changesDuringLoad.forEach(Runnable::run);
+        }
+        log.info("ScheduleIndex loaded. [posts={}, users={}]", newSchedules.size(), newBusyTimes.size());
+    }
+
+    // 일정 생성/수정 : 작성자와 참여자(participantIds)를 기준으로 다시 등록
+    public void put(Post post, Collection<Long> participantIds) {
+        Long postId = post.getId();
+        if (post.getScope() == ScopeEnum.ME) {
+            afterCommit(() -> removeSchedule(postId));
+            return;
+        }
+        long[] period = toMinutes(post.getStartDate(), post.getStartTime(), post.getEndDate(), post.getEndTime());
+        Set<Long> userIds = new HashSet<>();
+        userIds.add(post.getUser().getId());
+        if (participantIds != null) {
+            userIds.addAll(participantIds);
+        }
+        afterCommit(() -> putSchedule(postId, period, userIds));
+    }
+
+    // 드래그로 날짜만 바뀐 경우 : 참여자는 그대로 두고 구간만 변경
+    public void reschedule(Post post) {
+        Long postId = post.getId();
+        boolean visible = post.getScope() != ScopeEnum.ME;
+        long[] period = toMinutes(post.getStartDate(), post.getStartTime(), post.getEndDate(), post.getEndTime());
+        Long ownerId = post.getUser().getId();
+        afterCommit(() -> {
+            Schedule old = schedules.get(postId);
+            if (!visible) {
+                removeSchedule(postId);
+                return;
+            }
+            Set<Long> userIds = old == null ? new HashSet<>(Set.of(ownerId)) : new HashSet<>(old.userIds);
+            putSchedule(postId, period, userIds);
+        });
+    }
+
+    public void remove(Long postId) {
+        afterCommit(() -> removeSchedule(postId));
+    }
+
+    // 참여 거절 등으로 태그가 지워진 경우
+    public void removeParticipant(Long postId, Long userId) {
+        afterCommit(() -> {
+            Schedule schedule = schedules.get(postId);
+            if (schedule != null && schedule.userIds.remove(userId)) {
+                removeBusyTime(userId, schedule);
+            }
+        });
+    }
+
+    // userId 유저에게 [from, to) 와 겹치는 일정이 있는지
+    public synchronized boolean isBusy(Long userId, LocalDateTime from, LocalDateTime to) {
+        BusyTimes times = busyTimes.get(userId);
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        if (times == null || start >= end) {
+            return false;
+        }
+        return times.countOverlap(start, end) > 0;
+    }
+
+    private void putSchedule(Long postId, long[] period, Set<Long> userIds) {
+        removeSchedule(postId);
+        Schedule schedule = new Schedule(period);
+        schedule.userIds.addAll(userIds);
+        schedules.put(postId, schedule);
+        for (Long userId : schedule.userIds) {
+            busyTimes.computeIfAbsent(userId, id -> new BusyTimes()).add(schedule.start, schedule.end);
+        }
+    }
+
+    private void removeSchedule(Long postId) {
+        Schedule old = schedules.remove(postId);
+        if (old == null) {
+            return;
+        }
+        for (Long userId : old.userIds) {
+            removeBusyTime(userId, old);
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 반영. 적재 중이면 교체 후 다시 적용하도록 남겨 둔다.
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                change.run();
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.add(change);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private void removeBusyTime(Long userId, Schedule schedule) {
+        BusyTimes times = busyTimes.get(userId);
+        if (times == null) {
+            return;
+        }
+        times.remove(schedule.start, schedule.end);
+        if (times.isEmpty()) {
+            busyTimes.remove(userId);
+        }
+    }
+
+    // 하루종일 일정(00:00 ~ 00:00)은 종료일 다음날 00:00 까지로 본다. (TagService 요청 구간과 같은 기준)
+    private static long[] toMinutes(LocalDate startDate, LocalTime startTime, LocalDate endDate, LocalTime endTime) {
+        LocalTime start = startTime == null ? LocalTime.MIDNIGHT : startTime;
+        LocalTime end = endTime == null ? LocalTime.MIDNIGHT : endTime;
+        LocalDateTime endDateTime = LocalDateTime.of(endDate, end);
+        if (start.equals(LocalTime.MIDNIGHT) && end.equals(LocalTime.MIDNIGHT)) {
+            endDateTime = endDateTime.plusDays(1);
+        }
+        return new long[]{toMinutes(LocalDateTime.of(startDate, start)), toMinutes(endDateTime)};
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static class Schedule {
+        private final long start;
+        private final long end;
+        private final Set<Long> userIds = new HashSet<>();
+
+        private Schedule(long[] period) {
+            this.start = period[0];
+            this.end = period[1];
+        }
+    }
+
+    private static class BusyTimes {
+        private final SortedLongs starts = new SortedLongs();
+        private final SortedLongs ends = new SortedLongs();
+
+        private void add(long start, long end) {
+            starts.add(start);
+            ends.add(end);
+        }
+
+        private void remove(long start, long end) {
+            starts.remove(start);
+            ends.remove(end);
+        }
+
+        private boolean isEmpty() {
+            return starts.size == 0;
+        }
+
+        // start < to && end > from 인 일정 수
+        private int countOverlap(long from, long to) {
+            int startsAfter = starts.size - starts.lowerBound(to);
+            int endsBefore = ends.lowerBound(from + 1);
+            return starts.size - startsAfter - endsBefore;
+        }
+    }
+
+    // 정렬된 long 배열 (중복 허용)
+    private static class SortedLongs {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int index = lowerBound(value);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+
+        private void remove(long value) {
+            int index = lowerBound(value);
+            if (index < size && values[index] == value) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+        }
+
+        // value 이상인 첫 위치
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
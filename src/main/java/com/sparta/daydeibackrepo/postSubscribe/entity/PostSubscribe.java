@@ -2,6 +2,7 @@ package com.sparta.daydeibackrepo.postSubscribe.entity;
 
 import com.sparta.daydeibackrepo.post.entity.Post;
 import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.util.TimeStamped;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -10,7 +11,7 @@ import javax.persistence.*;
 @Entity
 @Getter
 @NoArgsConstructor
-public class PostSubscribe {
+public class PostSubscribe extends TimeStamped {
 
     @Id
     @Column
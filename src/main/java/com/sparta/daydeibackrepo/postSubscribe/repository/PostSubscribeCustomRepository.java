@@ -1,4 +1,7 @@
 package com.sparta.daydeibackrepo.postSubscribe.repository;
 
+import java.util.Collection;
+
 public interface PostSubscribeCustomRepository {
+    void bulkInsert(Long postId, Collection<Long> userIds, boolean postSubscribeCheck);
 }
@@ -2,11 +2,32 @@ package com.sparta.daydeibackrepo.postSubscribe.repository;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 @RequiredArgsConstructor
 public class PostSubscribeCustomRepositoryImpl implements PostSubscribeCustomRepository{
     private final JPAQueryFactory jpaQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
 
+    // 공유 일정 참여 요청을 JDBC batch 로 한 번에 저장 (auditing 을 타지 않으므로 시각을 직접 넣음)
+    public void bulkInsert(Long postId, Collection<Long> userIds, boolean postSubscribeCheck) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Long userId : userIds) {
+            batchArgs.add(new Object[]{postId, userId, postSubscribeCheck, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO post_subscribe (post_id, user_id, post_subscribe_check, created_at, modified_at) " +
+                "VALUES (?, ?, ?, ?, ?)", batchArgs);
+    }
 }
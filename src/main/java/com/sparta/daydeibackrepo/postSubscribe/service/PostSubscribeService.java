@@ -6,7 +6,10 @@ import com.sparta.daydeibackrepo.notification.entity.NotificationType;
 import com.sparta.daydeibackrepo.notification.repository.NotificationRepository;
 import com.sparta.daydeibackrepo.notification.service.NotificationService;
 import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.PostTombstone;
 import com.sparta.daydeibackrepo.post.repository.PostRepository;
+import com.sparta.daydeibackrepo.post.repository.PostTombstoneRepository;
+import com.sparta.daydeibackrepo.post.service.ScheduleIndex;
 import com.sparta.daydeibackrepo.postSubscribe.entity.PostSubscribe;
 import com.sparta.daydeibackrepo.postSubscribe.repository.PostSubscribeRepository;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
@@ -14,6 +17,7 @@ import com.sparta.daydeibackrepo.tag.entity.Tag;
 import com.sparta.daydeibackrepo.tag.repository.TagRepository;
 import com.sparta.daydeibackrepo.user.entity.User;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,8 +25,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.sparta.daydeibackrepo.exception.message.ExceptionMessage.*;
@@ -38,94 +45,78 @@ public class PostSubscribeService {
     private final PostSubscribeRepository postSubscribeRepository;
     private final NotificationService notificationService;
     private final TagRepository tagRepository;
+    private final ScheduleIndex scheduleIndex;
+    private final PostTombstoneRepository postTombstoneRepository;
+    private final CalendarVersionService calendarVersionService;
 
     @Transactional
-    public void createJoin(Long postId, List<User> joiners, UserDetailsImpl userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
-                () -> new CustomException(UNAUTHORIZED_MEMBER)
-        );
-        Post post = postRepository.findById(postId).orElseThrow(
-                () -> new CustomException(POST_NOT_FOUND)
-        );
+    public void createJoin(Post post, List<User> joiners, User user) {
         if (!Objects.equals(user.getId(), post.getUser().getId())){
             throw new CustomException(INVALID_SHARED_POST_CREATE);
         }
-        for(User joiner : joiners){
-            PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getId(), joiner.getId());
-            if(postSubscribe!=null){
-                throw new CustomException(DUPLICATE_TAG_USER_JOIN_POST);
-            }
-            PostSubscribe postSubscribe1 = new PostSubscribe(post, joiner, false);
-            Notification notification = notificationRepository.findNotification(user, postId, NotificationType.JOIN_REQUEST);
-            if (notification != null)
-            {notificationRepository.delete(notification);}
-            postSubscribeRepository.save(postSubscribe1);
-            notificationService.send(joiner.getId() , NotificationType.JOIN_REQUEST, NotificationType.JOIN_REQUEST.makeContent(user.getNickName()), post.getId());
+        if (joiners.isEmpty()) {
+            return;
         }
+        // 새로 생성된 일정이라 기존 참여 요청이 있을 수 없으므로 중복 확인 없이 한 번에 insert
+        postSubscribeRepository.bulkInsert(post.getId(), toIds(joiners), false);
+        notificationService.sendToMany(joiners, NotificationType.JOIN_REQUEST, NotificationType.JOIN_REQUEST.makeContent(user.getNickName()), post.getId());
     }
 
+    // 기존 참여 요청과 비교해서 추가/삭제된 참여자만 반영 (남아있는 참여자의 수락 상태는 유지)
+    // 알림은 새로 초대된 유저, 빠진 유저, 일정 시간이 바뀐 경우 기존 참여자에게만 보냄
     @Transactional
-    public void updateJoin(Long postId, List<User> joiners, UserDetailsImpl userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
-                () -> new CustomException(UNAUTHORIZED_MEMBER)
-        );
-        Post post = postRepository.findById(postId).orElseThrow(
-                () -> new CustomException(POST_NOT_FOUND)
-        );
+    public void updateJoin(Post post, List<User> joiners, User user, boolean periodChanged) {
         if (!Objects.equals(user.getId(), post.getUser().getId())){
             throw new CustomException(INVALID_SHARED_POST_MODIFY);
         }
 
-        List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByPostId(postId);
-        postSubscribeRepository.deleteAll(postSubscribes);
-
-        for(User joiner : joiners){
-//            PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getUser().getId(), joiner.getId());
-//            postSubscribeRepository.deleteByPostAndUser(post, joiner);
-
-//            PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getUser().getId(), joiner.getId());
-//            if(postSubscribe!=null){
-//                throw new IllegalArgumentException("해당 유저는 이미 일정 초대되었습니다.");
-//            }
-            PostSubscribe postSubscribe1 = new PostSubscribe(post, joiner, false);
-            postSubscribeRepository.save(postSubscribe1);
-            Notification notification = notificationRepository.findNotification(user, postId, NotificationType.JOIN_REQUEST);
-            if (notification != null)
-            {notificationRepository.delete(notification);}
-            notificationService.send(joiner.getId() , NotificationType.JOIN_UPDATE_REQUEST, NotificationType.JOIN_UPDATE_REQUEST.makeContent(user.getNickName()), post.getId());
+        Map<Long, User> requested = new LinkedHashMap<>();
+        for (User joiner : joiners) {
+            requested.put(joiner.getId(), joiner);
+        }
+        List<PostSubscribe> removed = new ArrayList<>();
+        List<User> removedUsers = new ArrayList<>();
+        List<User> unchangedUsers = new ArrayList<>();
+        for (PostSubscribe postSubscribe : postSubscribeRepository.findAllByPostId(post.getId())) {
+            User joiner = requested.remove(postSubscribe.getUser().getId());
+            if (joiner == null) {
+                removed.add(postSubscribe);
+                removedUsers.add(postSubscribe.getUser());
+            } else {
+                unchangedUsers.add(joiner);
+            }
+        }
+        List<User> addedUsers = new ArrayList<>(requested.values());
+
+        if (!removed.isEmpty()) {
+            saveTombstones(removed);
+            postSubscribeRepository.deleteAllInBatch(removed);
+            notificationService.deleteAllByReturnIdAndReceivers(post.getId(), toIds(removedUsers),
+                    List.of(NotificationType.JOIN_REQUEST, NotificationType.JOIN_UPDATE_REQUEST));
+        }
+        postSubscribeRepository.bulkInsert(post.getId(), toIds(addedUsers), false);
+
+        notificationService.sendToMany(addedUsers, NotificationType.JOIN_REQUEST, NotificationType.JOIN_REQUEST.makeContent(user.getNickName()), post.getId());
+        notificationService.sendToMany(removedUsers, NotificationType.JOIN_DELETE_REQUEST, NotificationType.JOIN_DELETE_REQUEST.makeContent(user.getNickName()), post.getId());
+        if (periodChanged) {
+            notificationService.sendToMany(unchangedUsers, NotificationType.JOIN_UPDATE_REQUEST, NotificationType.JOIN_UPDATE_REQUEST.makeContent(user.getNickName()), post.getId());
         }
     }
 
     @Transactional
-    public void deleteJoin(Long postId, List<User> joiners, UserDetailsImpl userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
-                () -> new CustomException(UNAUTHORIZED_MEMBER)
-        );
-        Post post = postRepository.findById(postId).orElseThrow(
-                () -> new CustomException(UNAUTHORIZED_MEMBER)
-        );
+    public void deleteJoin(Post post, List<User> joiners, User user) {
         if (!Objects.equals(user.getId(), post.getUser().getId())){
             throw new CustomException(INVALID_SHARED_POST_DELETE);
         }
 
-        List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByPostId(postId);
-        Notification notification = notificationRepository.findNotification(user, postId, NotificationType.JOIN_REQUEST);
+        List<PostSubscribe> postSubscribes = postSubscribeRepository.findAllByPostId(post.getId());
+        Notification notification = notificationRepository.findNotification(user, post.getId(), NotificationType.JOIN_REQUEST);
         if (notification != null)
-        {notificationRepository.delete(notification);}
-        postSubscribeRepository.deleteAll(postSubscribes);
-
-        for(User joiner : joiners){
-//            PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getUser().getId(), joiner.getId());
-//            postSubscribeRepository.deleteByPostAndUser(post, joiner);
-//            postSubscribeRepository.deleteAllById(postId);
-//            PostSubscribe postSubscribe = postSubscribeRepository.findByPostIdAndUserId(post.getUser().getId(), joiner.getId());
-//            if(postSubscribe!=null){
-//                throw new IllegalArgumentException("해당 유저는 이미 일정 초대되었습니다.");
-//            }
-//            PostSubscribe postSubscribe1 = new PostSubscribe(post, joiner, false);
-//            postSubscribeRepository.save(postSubscribe1);
-            notificationService.send(joiner.getId() , NotificationType.JOIN_DELETE_REQUEST, NotificationType.JOIN_DELETE_REQUEST.makeContent(user.getNickName()), post.getId());
-        }
+        {notificationService.delete(notification);}
+        saveTombstones(postSubscribes);
+        postSubscribeRepository.deleteAllInBatch(postSubscribes);
+
+        notificationService.sendToMany(joiners, NotificationType.JOIN_DELETE_REQUEST, NotificationType.JOIN_DELETE_REQUEST.makeContent(user.getNickName()), post.getId());
     }
 
     @Transactional
@@ -142,8 +133,9 @@ public class PostSubscribeService {
         }
         Notification notification = notificationRepository.findNotification(user, postId, NotificationType.JOIN_REQUEST);
         if (notification != null)
-        {notificationRepository.delete(notification);}
+        {notificationService.delete(notification);}
         postSubscribe.update(true);
+        calendarVersionService.bump(user.getId());
         notificationService.send(post.getUser().getId() , NotificationType.JOIN_ACCEPT, NotificationType.JOIN_ACCEPT.makeContent(user.getNickName()), post.getId());
     }
 
@@ -159,14 +151,35 @@ public class PostSubscribeService {
         if (postSubscribe==null){
             throw new CustomException(NO_REJACT_POST_JOIN_REQUEST);
         }
+        saveTombstones(List.of(postSubscribe));
         postSubscribeRepository.delete(postSubscribe);
         Tag tag = tagRepository.findByPostIdAndUserId(post.getId(), user.getId());
         tagRepository.delete(tag);
+        scheduleIndex.removeParticipant(post.getId(), user.getId());
+        calendarVersionService.bump(user.getId());
         Notification notification = notificationRepository.findNotification(user, postId, NotificationType.JOIN_REQUEST);
         if (notification != null)
-        {notificationRepository.delete(notification);}
+        {notificationService.delete(notification);}
         notificationService.send(post.getUser().getId() , NotificationType.JOIN_REJECT, NotificationType.JOIN_REJECT.makeContent(user.getNickName()), post.getId());
     }
 
+    private List<Long> toIds(List<User> users) {
+        List<Long> ids = new ArrayList<>();
+        for (User user : users) {
+            ids.add(user.getId());
+        }
+        return ids;
+    }
 
+    // 수락했던 공유 일정이 빠지는 경우 해당 유저 캘린더에 삭제 기록을 남김 (증분 동기화)
+    private void saveTombstones(List<PostSubscribe> postSubscribes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PostTombstone> tombstones = new ArrayList<>();
+        for (PostSubscribe postSubscribe : postSubscribes) {
+            if (Boolean.TRUE.equals(postSubscribe.getPostSubscribeCheck())) {
+                tombstones.add(new PostTombstone(postSubscribe.getUser().getId(), postSubscribe.getPost().getId(), now));
+            }
+        }
+        postTombstoneRepository.saveAll(tombstones);
+    }
 }
@@ -0,0 +1,18 @@
+package com.sparta.daydeibackrepo.reminder.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 타이밍 휠 적재용 : 알림 id 와 울릴 시각만
+@Getter
+public class ReminderSlotDto {
+    private Long id;
+
+    private LocalDateTime fireAt;
+
+    public ReminderSlotDto(Long id, LocalDateTime fireAt) {
+        this.id = id;
+        this.fireAt = fireAt;
+    }
+}
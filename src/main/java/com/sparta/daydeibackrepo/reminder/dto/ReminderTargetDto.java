@@ -0,0 +1,22 @@
+package com.sparta.daydeibackrepo.reminder.dto;
+
+import lombok.Getter;
+
+// 알림을 받을 (일정, 유저) 한 쌍 : 작성자 + 참여를 수락한 유저
+@Getter
+public class ReminderTargetDto {
+    private Long postId;
+
+    private Long userId;
+
+    private String email;
+
+    private String nickName;
+
+    public ReminderTargetDto(Long postId, Long userId, String email, String nickName) {
+        this.postId = postId;
+        this.userId = userId;
+        this.email = email;
+        this.nickName = nickName;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sparta.daydeibackrepo.reminder.entity;
+
+import com.sparta.daydeibackrepo.post.entity.Post;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 일정 시작 알림 : 일정 하나에 알림 시점(offset)마다 한 줄
+// 발송되면 행을 지우므로 테이블에는 앞으로 울릴 알림만 남는다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "reminder",
+        indexes = {
+                @Index(name = "idx_reminder_fire_at", columnList = "fire_at"),
+                @Index(name = "idx_reminder_post", columnList = "post_id")
+        })
+public class Reminder {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    // 일정 시작 몇 분 전에 알릴지
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+
+    // 알림을 만든 시각
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Reminder(Post post, Integer offsetMinutes, LocalDateTime fireAt) {
+        this.post = post;
+        this.offsetMinutes = offsetMinutes;
+        this.fireAt = fireAt;
+        this.createdAt = LocalDateTime.now();
+    }
+}
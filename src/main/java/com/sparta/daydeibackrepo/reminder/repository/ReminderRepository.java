@@ -0,0 +1,47 @@
+package com.sparta.daydeibackrepo.reminder.repository;
+
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.reminder.dto.ReminderSlotDto;
+import com.sparta.daydeibackrepo.reminder.dto.ReminderTargetDto;
+import com.sparta.daydeibackrepo.reminder.entity.Reminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReminderRepository extends JpaRepository<Reminder, Long> {
+
+    // [from, until) 사이에 울릴 알림 (타이밍 휠 선적재)
+    @Query("select new com.sparta.daydeibackrepo.reminder.dto.ReminderSlotDto(r.id, r.fireAt) from Reminder r " +
+            "where r.fireAt >= :from and r.fireAt < :until")
+    List<ReminderSlotDto> findSlots(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    @Query("select r from Reminder r join fetch r.post p where r.id in :ids")
+    List<Reminder> findAllWithPostByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 알림 받을 유저 : 작성자
+    @Query("select new com.sparta.daydeibackrepo.reminder.dto.ReminderTargetDto(p.id, u.id, u.email, u.nickName) " +
+            "from Post p join p.user u where p.id in :postIds")
+    List<ReminderTargetDto> findOwnerTargets(@Param("postIds") Collection<Long> postIds);
+
+    // 알림 받을 유저 : 참여를 수락한 유저
+    @Query("select new com.sparta.daydeibackrepo.reminder.dto.ReminderTargetDto(ps.post.id, u.id, u.email, u.nickName) " +
+            "from PostSubscribe ps join ps.user u where ps.post.id in :postIds and ps.postSubscribeCheck = true")
+    List<ReminderTargetDto> findParticipantTargets(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("delete from Reminder r where r.post = :post")
+    int deleteAllByPost(@Param("post") Post post);
+
+    // 최초 배포 시 앞으로 시작할 일정 전체에 offset 분 전 알림을 채움 (시작 시간이 없는 일정 제외, ReminderService.schedule 과 같은 기준)
+    @Modifying
+    @Query(value = "INSERT INTO reminder (post_id, offset_minutes, fire_at, created_at) " +
+            "SELECT p.id, :offset, TIMESTAMP(p.start_date, p.start_time) - INTERVAL :offset MINUTE, :now " +
+            "FROM post p " +
+            "WHERE p.start_time IS NOT NULL AND TIMESTAMP(p.start_date, p.start_time) - INTERVAL :offset MINUTE > :now", nativeQuery = true)
+    int insertAllUpcoming(@Param("offset") int offset, @Param("now") LocalDateTime now);
+}
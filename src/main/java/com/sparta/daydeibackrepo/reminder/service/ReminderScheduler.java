@@ -0,0 +1,77 @@
+package com.sparta.daydeibackrepo.reminder.service;
+
+import com.sparta.daydeibackrepo.lease.aop.ScheduledWithLease;
+import com.sparta.daydeibackrepo.reminder.dto.ReminderSlotDto;
+import com.sparta.daydeibackrepo.reminder.repository.ReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+// 매 분 타이밍 휠을 돌려 울릴 알림을 꺼내고, 휠에 남은 범위가 줄면 다음 구간을 DB 에서 선적재한다.
+// 휠은 lease 를 가진 WAS 에서만 돌고, 다른 WAS 에서 만든 알림은 매 틱 적재 범위를 DB 에서 다시 읽어 따라잡는다.
+// (만든 시각이나 id 기준으로 따라잡으면 늦게 커밋된 알림을 놓칠 수 있음, 범위는 최대 LOOKAHEAD_MINUTES 분이라 fire_at 인덱스 범위 조회 한 번)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReminderScheduler {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ReminderRepository reminderRepository;
+    private final ReminderService reminderService;
+    private final ReminderWheel reminderWheel;
+
+    // 실행권(lease)을 가진 동안 마지막으로 돈 시각
+    private LocalDateTime lastTickAt;
+
+    // lease 를 가진 WAS 한 대에서만 돈다. 계속 갖고 있는 동안은 매 분 연장되고, 죽으면 90초 뒤 다른 WAS 가 이어받음
+    @Scheduled(cron = "0 * * * * ?")
+    @ScheduledWithLease(name = "reminder", leaseSeconds = 90)
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastTickAt == null || lastTickAt.isBefore(now.minusMinutes(2))) {
+            // 실행권을 새로 잡음 : 휠을 비우고 다시 적재
+            // 지나간 알림도 포함 (서버 전환 사이 놓친 알림, 울릴 때 유효성 확인)
+            reminderService.backfill();
+            reminderWheel.start(now);
+            load(EPOCH, now);
+        } else {
+            catchUp();
+            if (reminderWheel.needsLoad(now)) {
+                load(reminderWheel.loadedUntil(), now);
+            }
+        }
+        lastTickAt = now;
+        Set<Long> due = reminderWheel.advance(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        reminderService.fire(due, now);
+    }
+
+    // 다른 WAS 에서 일정을 만들거나 옮겨 적재 범위 안에 새로 생긴 알림 (휠에 이미 있는 알림은 add 에서 무시됨)
+    // 울린 알림은 지워지므로 적재 범위 전까지 남은 행은 아직 안 울린 알림뿐이다.
+    private void catchUp() {
+        for (ReminderSlotDto slot : reminderRepository.findSlots(EPOCH, reminderWheel.loadedUntil())) {
+            reminderWheel.add(slot.getId(), slot.getFireAt());
+        }
+    }
+
+    private void load(LocalDateTime from, LocalDateTime now) {
+        LocalDateTime until = now.truncatedTo(ChronoUnit.MINUTES).plusMinutes(ReminderWheel.LOOKAHEAD_MINUTES);
+        // 적재 중에 새로 생긴 알림은 add 가 markLoaded 이후에 들어오도록 휠 기준으로 동기화
+        synchronized (reminderWheel) {
+            List<ReminderSlotDto> slots = reminderRepository.findSlots(from, until);
+            reminderWheel.markLoaded(until);
+            for (ReminderSlotDto slot : slots) {
+                reminderWheel.add(slot.getId(), slot.getFireAt());
+            }
+            log.info("Reminder wheel loaded. [from={}, until={}, reminders={}]", from, until, slots.size());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.sparta.daydeibackrepo.reminder.service;
+
+import com.sparta.daydeibackrepo.mail.dto.MailDto;
+import com.sparta.daydeibackrepo.mail.service.MailService;
+import com.sparta.daydeibackrepo.notification.entity.NotificationType;
+import com.sparta.daydeibackrepo.notification.service.NotificationService;
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.reminder.dto.ReminderTargetDto;
+import com.sparta.daydeibackrepo.reminder.entity.Reminder;
+import com.sparta.daydeibackrepo.reminder.repository.ReminderRepository;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 일정 시작 알림 : 일정 생성/수정/드래그/삭제 시 알림 행을 맞춰두고, 울릴 때 메일 + SSE 로 한 번에 넘긴다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReminderService {
+    // 서버가 멈춰 있던 사이 지나간 알림은 이 시간 안에서만 늦게라도 보냄
+    private static final int MISSED_GRACE_MINUTES = 10;
+
+    private final ReminderRepository reminderRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final MailService mailService;
+    private final ReminderWheel reminderWheel;
+
+    // 일정 시작 몇 분 전에 알릴지 (쉼표로 여러 개)
+    @Value("${reminder.offsets:60}")
+    private int[] offsets;
+
+    // 일정 생성/수정/드래그 : 기존 알림을 지우고 새 시작 시각 기준으로 다시 만든다.
+    // 시작 시간이 없는 일정(생일 등)은 알림을 만들지 않는다. (backfill 의 insertAllUpcoming 과 같은 기준)
+    @Transactional
+    public void schedule(Post post) {
+        reminderRepository.deleteAllByPost(post);
+        if (!hasStartTime(post)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = startOf(post);
+        List<Reminder> reminders = new ArrayList<>();
+        for (int offset : offsets) {
+            LocalDateTime fireAt = start.minusMinutes(offset);
+            if (fireAt.isAfter(now)) {
+                reminders.add(new Reminder(post, offset, fireAt));
+            }
+        }
+        if (reminders.isEmpty()) {
+            return;
+        }
+        reminderRepository.saveAll(reminders);
+        // 이미 선적재된 범위 안이면 휠에 바로 넣음 (커밋 이후)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Reminder reminder : reminders) {
+                    reminderWheel.add(reminder.getId(), reminder.getFireAt());
+                }
+            }
+        });
+    }
+
+    @Transactional
+    public void cancel(Post post) {
+        reminderRepository.deleteAllByPost(post);
+    }
+
+    // 휠에서 꺼낸 알림을 울림 : DB 기준으로 다시 확인하고, 알림 행은 지우고, SSE 알림과 메일은 커밋 뒤 전송
+    @Transactional
+    public void fire(Collection<Long> reminderIds, LocalDateTime now) {
+        if (reminderIds.isEmpty()) {
+            return;
+        }
+        List<Reminder> reminders = reminderRepository.findAllWithPostByIdIn(reminderIds);
+        List<Reminder> due = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            Post post = reminder.getPost();
+            if (!hasStartTime(post)) {
+                continue;
+            }
+            LocalDateTime start = startOf(post);
+            // 수정된 일정의 옛 알림이거나, 너무 늦었거나, 이미 시작한 일정이면 보내지 않고 정리만 함
+            boolean valid = reminder.getFireAt().equals(start.minusMinutes(reminder.getOffsetMinutes()))
+                    && !reminder.getFireAt().isBefore(now.minusMinutes(MISSED_GRACE_MINUTES))
+                    && start.isAfter(now);
+            if (!reminder.getFireAt().isAfter(now) && valid) {
+                due.add(reminder);
+            }
+        }
+        List<Long> handled = reminders.stream()
+                .filter(reminder -> !reminder.getFireAt().isAfter(now))
+                .map(Reminder::getId)
+                .collect(Collectors.toList());
+        reminderRepository.deleteAllByIdInBatch(handled);
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<Long> postIds = due.stream().map(reminder -> reminder.getPost().getId()).collect(Collectors.toSet());
+        Map<Long, List<ReminderTargetDto>> targets = new HashMap<>();
+        List<ReminderTargetDto> allTargets = new ArrayList<>(reminderRepository.findOwnerTargets(postIds));
+        allTargets.addAll(reminderRepository.findParticipantTargets(postIds));
+        for (ReminderTargetDto target : allTargets) {
+            targets.computeIfAbsent(target.getPostId(), id -> new ArrayList<>()).add(target);
+        }
+        Map<Long, User> receivers = userRepository.findAllById(
+                        allTargets.stream().map(ReminderTargetDto::getUserId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(User::getId, user -> user));
+
+        List<MailDto> mails = new ArrayList<>();
+        for (Reminder reminder : due) {
+            Post post = reminder.getPost();
+            String remaining = remainingText(reminder.getOffsetMinutes());
+            List<User> users = new ArrayList<>();
+            for (ReminderTargetDto target : targets.getOrDefault(post.getId(), Collections.emptyList())) {
+                users.add(receivers.get(target.getUserId()));
+                mails.add(new MailDto(post, target, remaining));
+            }
+            notificationService.sendToMany(users, NotificationType.SCHEDULE_NOTIFY, NotificationType.SCHEDULE_NOTIFY.makeContent(post.getTitle(), remaining), post.getId());
+        }
+        mailService.sendScheduleNotifyMails(mails);
+        log.info("Reminders fired. [reminders={}, mails={}]", due.size(), mails.size());
+    }
+
+    // 알림 테이블이 비어있으면(최초 배포) 앞으로 시작할 일정으로 채움
+    @Transactional
+    public void backfill() {
+        if (reminderRepository.count() == 0) {
+            LocalDateTime now = LocalDateTime.now();
+            int count = 0;
+            for (int offset : offsets) {
+                count += reminderRepository.insertAllUpcoming(offset, now);
+            }
+            log.info("Reminder backfilled. [rows={}]", count);
+        }
+    }
+
+    private static boolean hasStartTime(Post post) {
+        return post.getStartTime() != null;
+    }
+
+    private static LocalDateTime startOf(Post post) {
+        return LocalDateTime.of(post.getStartDate(), post.getStartTime());
+    }
+
+    // 60 -> "한 시간", 90 -> "90분", 1440 -> "1일"
+    private static String remainingText(int offsetMinutes) {
+        if (offsetMinutes == 60) {
+            return "한 시간";
+        }
+        if (offsetMinutes % (24 * 60) == 0) {
+            return offsetMinutes / (24 * 60) + "일";
+        }
+        if (offsetMinutes % 60 == 0) {
+            return offsetMinutes / 60 + "시간";
+        }
+        return offsetMinutes + "분";
+    }
+}
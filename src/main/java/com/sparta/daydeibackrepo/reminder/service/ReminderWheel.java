@@ -0,0 +1,91 @@
+package com.sparta.daydeibackrepo.reminder.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// 분 단위 타이밍 휠 : 앞으로 LOOKAHEAD_MINUTES 분 안에 울릴 알림 id 만 메모리에 들고 있다.
+// 슬롯 = 울릴 시각(분) % WHEEL_SIZE, 적재 범위가 휠 크기보다 작으므로 한 슬롯에는 같은 분의 알림만 들어간다.
+// 적재 범위(loadedUntil) 밖의 알림은 무시하고 다음 선적재 때 DB 에서 읽는다.
+// 같은 알림을 여러 번 넣어도 (매 틱 적재 범위를 다시 읽음) 한 번만 들어간다.
+@Component
+public class ReminderWheel {
+    public static final int LOOKAHEAD_MINUTES = 60;
+    private static final int WHEEL_SIZE = 128;
+
+    @SuppressWarnings("unchecked")
+    private final List<Long>[] slots = new List[WHEEL_SIZE];
+    // 휠에 들어 있는 알림 id
+    private final Set<Long> scheduled = new HashSet<>();
+    // 마지막으로 꺼낸 분 / 적재가 끝난 분(미포함)
+    private long currentMinute;
+    private long loadedUntil;
+    private boolean started;
+
+    // 비우고 now 부터 다시 시작
+    public synchronized void start(LocalDateTime now) {
+        Arrays.fill(slots, null);
+        scheduled.clear();
+        currentMinute = toMinute(now) - 1;
+        loadedUntil = currentMinute + 1;
+        started = true;
+    }
+
+    // 선적재 범위 [from, until) : until 은 지금부터 LOOKAHEAD_MINUTES 분 뒤
+    public synchronized LocalDateTime loadedUntil() {
+        return toDateTime(loadedUntil);
+    }
+
+    public synchronized boolean needsLoad(LocalDateTime now) {
+        return loadedUntil - toMinute(now) < LOOKAHEAD_MINUTES / 2;
+    }
+
+    public synchronized void markLoaded(LocalDateTime until) {
+        loadedUntil = Math.max(loadedUntil, toMinute(until));
+    }
+
+    // 적재 범위 안이면 슬롯에 넣음 (이미 지난 시각이면 다음 틱에 바로 울림)
+    public synchronized void add(Long reminderId, LocalDateTime fireAt) {
+        if (!started) {
+            return;
+        }
+        long minute = toMinute(fireAt);
+        if (minute >= loadedUntil || !scheduled.add(reminderId)) {
+            return;
+        }
+        minute = Math.max(minute, currentMinute + 1);
+        int index = (int) (minute % WHEEL_SIZE);
+        if (slots[index] == null) {
+            slots[index] = new ArrayList<>();
+        }
+        slots[index].add(reminderId);
+    }
+
+    // now 까지 지나간 분들의 슬롯을 비우고 알림 id 를 돌려줌
+    public synchronized Set<Long> advance(LocalDateTime now) {
+        Set<Long> due = new LinkedHashSet<>();
+        long target = toMinute(now);
+        // 서버가 오래 멈춰 있었어도 휠 한 바퀴 이상은 돌 필요가 없다.
+        long from = Math.max(currentMinute + 1, target - WHEEL_SIZE + 1);
+        for (long minute = from; minute <= target; minute++) {
+            int index = (int) (minute % WHEEL_SIZE);
+            if (slots[index] != null) {
+                due.addAll(slots[index]);
+                scheduled.removeAll(slots[index]);
+                slots[index] = null;
+            }
+        }
+        currentMinute = Math.max(currentMinute, target);
+        return due;
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toDateTime(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,7 @@
+package com.sparta.daydeibackrepo.tag.repository;
+
+import java.util.Collection;
+
+public interface TagCustomRepository {
+    void bulkInsert(Long postId, Collection<Long> userIds);
+}
@@ -0,0 +1,28 @@
+package com.sparta.daydeibackrepo.tag.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TagCustomRepositoryImpl implements TagCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY 전략이라 JPA saveAll 은 행마다 insert 하므로 JDBC batch 로 한 번에 넣음
+    // (MySQL 은 rewriteBatchedStatements=true 일 때 multi-row insert 한 번으로 전송)
+    public void bulkInsert(Long postId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Long userId : userIds) {
+            batchArgs.add(new Object[]{userId, postId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tag (user_id, post_id) VALUES (?, ?)", batchArgs);
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagCustomRepository {
 
     List<Tag> findAllByPostId(Long postId);
     Tag findByPostIdAndUserId(Long postId, Long userId);
@@ -1,18 +1,16 @@
 package com.sparta.daydeibackrepo.tag.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
-import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
+import com.sparta.daydeibackrepo.friend.service.FriendGraph;
 import com.sparta.daydeibackrepo.friend.service.FriendService;
-import com.sparta.daydeibackrepo.post.entity.Post;
-import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
-import com.sparta.daydeibackrepo.post.repository.PostRepository;
+import com.sparta.daydeibackrepo.post.service.ScheduleIndex;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
 import com.sparta.daydeibackrepo.tag.dto.TagRequestDto;
 import com.sparta.daydeibackrepo.tag.dto.TagResponseDto;
-import com.sparta.daydeibackrepo.tag.entity.Tag;
 import com.sparta.daydeibackrepo.user.dto.UserResponseDto;
 import com.sparta.daydeibackrepo.user.entity.User;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.user.service.UserSearchIndex;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +23,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import static com.sparta.daydeibackrepo.exception.message.ExceptionMessage.UNAUTHORIZED_MEMBER;
 
@@ -34,9 +32,10 @@ import static com.sparta.daydeibackrepo.exception.message.ExceptionMessage.UNAUT
 @RequiredArgsConstructor
 public class TagService {
     private final UserRepository userRepository;
-    private final FriendRepository friendRepository;
+    private final FriendGraph friendGraph;
+    private final UserSearchIndex userSearchIndex;
     private final FriendService friendService;
-    private final PostRepository postRepository;
+    private final ScheduleIndex scheduleIndex;
 
     // 시작, 종료 일자 시간도 받아와야함.
     public List<TagResponseDto> getFriendTagList(TagRequestDto tagRequestDto, UserDetailsImpl userDetails) {
@@ -52,28 +51,14 @@ public class TagService {
             endDate = LocalDate.parse(tagRequestDto.getEndDate(), DateTimeFormatter.ISO_DATE).plusDays(1);
         }
         else {endDate = LocalDate.parse(tagRequestDto.getEndDate(), DateTimeFormatter.ISO_DATE);}
-        List<Post> scheduledPosts = postRepository.findAll().stream()
-                .filter(post -> (LocalDateTime.of(startDate,startTime).isAfter(LocalDateTime.of(post.getStartDate(),post.getStartTime()))
-                        && LocalDateTime.of(startDate,startTime).isBefore(LocalDateTime.of(post.getEndDate(),post.getEndTime())))
-                        || (LocalDateTime.of(endDate,endTime).isAfter(LocalDateTime.of(post.getStartDate(),post.getStartTime()))
-                        && LocalDateTime.of(endDate,endTime).isBefore(LocalDateTime.of(post.getEndDate(),post.getEndTime())))
-                        || ((LocalDateTime.of(startDate,startTime).isBefore(LocalDateTime.of(post.getStartDate(),post.getStartTime())) || LocalDateTime.of(startDate,startTime).isEqual(LocalDateTime.of(post.getStartDate(),post.getStartTime())))
-                        && (LocalDateTime.of(endDate,endTime).isAfter(LocalDateTime.of(post.getEndDate(),post.getEndTime()))) || LocalDateTime.of(endDate,endTime).isEqual(LocalDateTime.of(post.getEndDate(),post.getEndTime())))
-                && post.getScope() != ScopeEnum.ME)
-                .toList();
-        List<User> postUsers = scheduledPosts.stream()
-                .map(post -> post.getUser())
-                .collect(Collectors.toList());
-        List<Tag> tags = new ArrayList<>();
-        for(Post post : scheduledPosts){
-            tags.addAll(post.getTag());
-        }
-        postUsers.addAll(tags.stream().map(tag -> tag.getUser()).toList());
-        List<User> tagList = friendRepository.findTagUser(user, tagRequestDto.getSearchWord());
+        LocalDateTime from = LocalDateTime.of(startDate, startTime);
+        LocalDateTime to = LocalDateTime.of(endDate, endTime);
+        // 친구 중에서 검색어가 닉네임/이메일에 들어있는 유저
+        Set<Long> tagIds = userSearchIndex.match(tagRequestDto.getSearchWord(),
+                UserSearchIndex.Filter.all().within(friendGraph.friendsOf(user.getId())));
+        List<User> tagList = userRepository.findAllById(tagIds);
         for (User user1 : tagList){
-            boolean scheduleCheck = false;
-            if(postUsers.contains(user1))
-            {scheduleCheck = true;}
+            boolean scheduleCheck = scheduleIndex.isBusy(user1.getId(), from, to);
             tagResponseDtos.add(new TagResponseDto(user1, scheduleCheck));
         }
         Collections.shuffle(tagResponseDtos);
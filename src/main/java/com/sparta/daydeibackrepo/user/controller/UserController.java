@@ -4,6 +4,7 @@ package com.sparta.daydeibackrepo.user.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
 import com.sparta.daydeibackrepo.user.dto.*;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
 import com.sparta.daydeibackrepo.user.service.KakaoService;
 import com.sparta.daydeibackrepo.user.service.UserService;
 import com.sparta.daydeibackrepo.util.StatusResponseDto;
@@ -13,6 +14,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
@@ -25,6 +27,7 @@ import java.io.IOException;
 public class UserController {
     private final UserService userService;
     private final KakaoService kakaoService;
+    private final CalendarVersionService calendarVersionService;
 
 
     @PostMapping("/users/signup")
@@ -80,7 +83,12 @@ public class UserController {
     }
 
     @GetMapping("/home/profile/{userId}")
-    public StatusResponseDto<UserResponseDto> getUser(@PathVariable Long userId, @AuthenticationPrincipal UserDetailsImpl userDetails){
+    public StatusResponseDto<UserResponseDto> getUser(@PathVariable Long userId, @AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                      @Parameter(hidden = true) WebRequest webRequest){
+        // 프로필이 바뀌지 않았으면 조회 없이 304
+        if (webRequest.checkNotModified(calendarVersionService.profileETag(userId, userDetails))) {
+            return null;
+        }
         return StatusResponseDto.success(userService.getUser(userId, userDetails));
     }
 
@@ -19,6 +19,7 @@ public class LoginResponseDto {
     private List<CategoryEnum> categoryList;
     private Boolean isLogin;
     private Boolean isNewNotification;
+    private Long unreadNotificationCount;
 
     public LoginResponseDto(User user, Boolean isLogin){
         this.userId = user.getId();
@@ -29,7 +30,8 @@ public class LoginResponseDto {
         this.introduction = user.getIntroduction();
         this.categoryList = user.getCategoryEnum();
         this.isLogin = isLogin;
-        this.isNewNotification = user.getIsNewNotification();
+        this.unreadNotificationCount = user.getUnreadNotificationCount() == null ? 0L : user.getUnreadNotificationCount();
+        this.isNewNotification = this.unreadNotificationCount > 0;
 
     }
 }
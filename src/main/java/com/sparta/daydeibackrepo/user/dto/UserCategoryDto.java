@@ -0,0 +1,17 @@
+package com.sparta.daydeibackrepo.user.dto;
+
+import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
+import lombok.Getter;
+
+// 유저 검색 인덱스(UserSearchIndex) 적재용 : 유저가 고른 카테고리 하나
+@Getter
+public class UserCategoryDto {
+    private Long userId;
+
+    private CategoryEnum category;
+
+    public UserCategoryDto(Long userId, CategoryEnum category) {
+        this.userId = userId;
+        this.category = category;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sparta.daydeibackrepo.user.dto;
 
+import com.sparta.daydeibackrepo.friend.dto.RelationMatrix;
 import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
 import com.sparta.daydeibackrepo.user.entity.User;
 import lombok.Getter;
@@ -31,7 +32,8 @@ public class UserResponseDto {
     private int subscriberCount;
     private List<User> mutualFriends;
     private int mutualFriendsCount;
-    public UserResponseDto(User user, boolean friendCheck,boolean isRequestFriend, boolean userSubscribeCheck, boolean updateCheck, List<User> mutualFriends, boolean isVisible){
+    // 관계/구독 수는 RelationMatrix 에서 (컬렉션 초기화 없이)
+    public UserResponseDto(User user, RelationMatrix relations, boolean updateCheck){
         this.id = user.getId();
         this.kakaoId = user.getKakaoId();
         this.email = user.getEmail();
@@ -41,75 +43,15 @@ public class UserResponseDto {
         this.introduction = user.getIntroduction();
         this.categoryList = user.getCategoryEnum();
         this.birthday = user.getBirthday();
-        this.friendCheck = friendCheck;
-        this.isRequestFriend = isRequestFriend;
-        this.userSubscribeCheck = userSubscribeCheck;
+        this.friendCheck = relations.isFriend(user.getId());
+        this.isRequestFriend = relations.isRequestFriend(user.getId());
+        this.userSubscribeCheck = relations.isSubscribed(user.getId());
         this.updateCheck = updateCheck;
-        this.isVisible = isVisible;
+        this.isVisible = relations.isVisible(user.getId());
         this.friendCount = user.getFriendCount();
-        this.subscribingCount = user.getSubscribing().size();
-        this.subscriberCount = user.getSubscriber().size();
-        //this.mutualFriends = mutualFriends; 열면 큰일나는 지옥문입니다.
-        this.mutualFriendsCount = mutualFriends.size();
-    }
-    public UserResponseDto(User user, boolean friendCheck, boolean userSubscribeCheck, boolean updateCheck, List<User> mutualFriends, boolean isVisible){
-        this.id = user.getId();
-        this.kakaoId = user.getKakaoId();
-        this.email = user.getEmail();
-        this.nickName = user.getNickName();
-        this.profileImage = user.getProfileImage();
-        this.backgroundImage = user.getBackgroundImage();
-        this.introduction = user.getIntroduction();
-        this.categoryList = user.getCategoryEnum();
-        this.birthday = user.getBirthday();
-        this.friendCheck = friendCheck;
-        this.userSubscribeCheck = userSubscribeCheck;
-        this.updateCheck = updateCheck;
-        this.isVisible = isVisible;
-        this.friendCount = user.getFriendCount();
-        this.subscribingCount = user.getSubscribing().size();
-        this.subscriberCount = user.getSubscriber().size();
-        //this.mutualFriends = mutualFriends;
-        this.mutualFriendsCount = mutualFriends.size();
-    }
-    public UserResponseDto(User user, boolean friendCheck,boolean isRequestFriend, boolean userSubscribeCheck, boolean updateCheck, List<User> mutualFriends){
-        this.id = user.getId();
-        this.kakaoId = user.getKakaoId();
-        this.email = user.getEmail();
-        this.nickName = user.getNickName();
-        this.profileImage = user.getProfileImage();
-        this.backgroundImage = user.getBackgroundImage();
-        this.introduction = user.getIntroduction();
-        this.categoryList = user.getCategoryEnum();
-        this.birthday = user.getBirthday();
-        this.friendCheck = friendCheck;
-        this.isRequestFriend = isRequestFriend;
-        this.userSubscribeCheck = userSubscribeCheck;
-        this.updateCheck = updateCheck;
-        this.friendCount = user.getFriendCount();
-        this.subscribingCount = user.getSubscribing().size();
-        this.subscriberCount = user.getSubscriber().size();
-        //this.mutualFriends = mutualFriends; 열면 큰일나는 지옥문입니다.
-        this.mutualFriendsCount = mutualFriends.size();
-    }
-    public UserResponseDto(User user, boolean friendCheck, boolean userSubscribeCheck, boolean updateCheck, List<User> mutualFriends){
-        this.id = user.getId();
-        this.kakaoId = user.getKakaoId();
-        this.email = user.getEmail();
-        this.nickName = user.getNickName();
-        this.profileImage = user.getProfileImage();
-        this.backgroundImage = user.getBackgroundImage();
-        this.introduction = user.getIntroduction();
-        this.categoryList = user.getCategoryEnum();
-        this.birthday = user.getBirthday();
-        this.friendCheck = friendCheck;
-        this.userSubscribeCheck = userSubscribeCheck;
-        this.updateCheck = updateCheck;
-        this.friendCount = user.getFriendCount();
-        this.subscribingCount = user.getSubscribing().size();
-        this.subscriberCount = user.getSubscriber().size();
-        //this.mutualFriends = mutualFriends;
-        this.mutualFriendsCount = mutualFriends.size();
+        this.subscribingCount = toInt(user.getSubscribingCount());
+        this.subscriberCount = toInt(user.getSubscriberCount());
+        this.mutualFriendsCount = relations.mutualCount(user.getId());
     }
     public UserResponseDto(User user){
         this.id = user.getId();
@@ -122,7 +64,11 @@ public class UserResponseDto {
         this.categoryList = user.getCategoryEnum();
         this.birthday = user.getBirthday();
         this.friendCount = user.getFriendCount();
-        this.subscribingCount = user.getSubscribing().size();
-        this.subscriberCount = user.getSubscriber().size();
+        this.subscribingCount = toInt(user.getSubscribingCount());
+        this.subscriberCount = toInt(user.getSubscriberCount());
+    }
+
+    private static int toInt(Long count) {
+        return count == null ? 0 : count.intValue();
     }
 }
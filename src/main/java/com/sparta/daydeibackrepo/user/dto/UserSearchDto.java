@@ -0,0 +1,19 @@
+package com.sparta.daydeibackrepo.user.dto;
+
+import lombok.Getter;
+
+// 유저 검색 인덱스(UserSearchIndex) 적재용
+@Getter
+public class UserSearchDto {
+    private Long userId;
+
+    private String nickName;
+
+    private String email;
+
+    public UserSearchDto(Long userId, String nickName, String email) {
+        this.userId = userId;
+        this.nickName = nickName;
+        this.email = email;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sparta.daydeibackrepo.user.dto.UserProfileRequestDto;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
@@ -11,6 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity(name = "users")
+@Table(indexes = {
+        @Index(name = "idx_users_subscriber_count", columnList = "subscriber_count"),
+        @Index(name = "idx_users_subscribing_count", columnList = "subscribing_count")
+})
+@BatchSize(size = 100) // 참여자/작성자 프록시를 IN 절로 묶어서 초기화
 @Getter
 @Setter
 @AllArgsConstructor
@@ -54,6 +60,23 @@ public class User {
 
     private Boolean isNewNotification;
 
+    // 캘린더/프로필 버전 (ETag) : UserRepository.bumpCalendarVersion 벌크 업데이트로만 증가
+    // 엔티티 dirty checking 이 옛 값으로 덮어쓰지 않도록 updatable = false
+    @Column(updatable = false)
+    private Long calendarVersion = 0L;
+
+    // 안 읽은 알림 수 (로그인/SSE 연결 시 배지) : NotificationService 에서 알림 저장/읽음/삭제와 함께 벌크 업데이트
+    @Column(updatable = false)
+    private Long unreadNotificationCount = 0L;
+
+    // 구독 수 / 구독자 수 (목록 표시, FAMOUS 정렬) : UserSubscribeService 에서 구독/구독 취소와 함께 벌크 업데이트
+    // subscribing / subscriber 컬렉션을 초기화하지 않고 읽기 위한 비정규화 컬럼
+    @Column(updatable = false)
+    private Long subscribingCount = 0L;
+
+    @Column(updatable = false)
+    private Long subscriberCount = 0L;
+
 
 //    @ElementCollection(fetch = FetchType.EAGER)
 //    @JsonFormat(shape = JsonFormat.Shape.STRING)
@@ -1,14 +1,18 @@
 package com.sparta.daydeibackrepo.user.repository;
 
-import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
+import com.sparta.daydeibackrepo.user.dto.UserCategoryDto;
+import com.sparta.daydeibackrepo.user.dto.UserSearchDto;
 import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserCountDto;
 
 
 import java.util.List;
 
 public interface UserCustomRepository {
-    List<User> findRecommmedList(String searchWord, User user, List<CategoryEnum> categoryEnums);
-    List<User> findFamousList(User user);
+    List<UserSearchDto> findAllSearchEntries();
+    List<UserCategoryDto> findAllCategories();
+    List<UserCountDto> findAllFriendCounts();
+    List<UserCountDto> findAllSubscriberCounts();
     List<User> findAllUpdateUser();
     List<User> findAllFriendUpdateUser();
 }
@@ -1,10 +1,15 @@
 package com.sparta.daydeibackrepo.user.repository;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.EnumPath;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
+import com.sparta.daydeibackrepo.user.dto.UserCategoryDto;
+import com.sparta.daydeibackrepo.user.dto.UserSearchDto;
 import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
 import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserCountDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -20,31 +25,33 @@ import static com.sparta.daydeibackrepo.user.entity.QUser.user;
 public class UserCustomRepositoryImpl implements UserCustomRepository{
     private final JPAQueryFactory jpaQueryFactory;
 
-    //@Query("SELECT u FROM users u WHERE (u.email Like :searchWord "+" OR u.nickName Like :searchWord) "+" AND u !=:user")
-    public List<User> findRecommmedList(String searchWord, User user1, List<CategoryEnum> categoryEnums) {
-        BooleanExpression categoryExpression = null;
-        if (categoryEnums != null && !categoryEnums.isEmpty()) {
-            categoryExpression = user.categoryEnum.contains(categoryEnums.get(0));
-            for (int i = 1; i < categoryEnums.size(); i++) {
-                categoryExpression = categoryExpression.or(user.categoryEnum.contains(categoryEnums.get(i)));
-            }
-        }
+    // 유저 검색 인덱스 적재용
+    public List<UserSearchDto> findAllSearchEntries() {
         return jpaQueryFactory
-                .selectFrom(user)
-                .where(user.email.contains(searchWord).or(user.nickName.contains(searchWord))
-                        .and(user.ne(user1)).and(categoryExpression))
+                .select(Projections.constructor(UserSearchDto.class, user.id, user.nickName, user.email))
+                .from(user)
                 .fetch();
     }
-    public List<User> findFamousList(User user1) {
-        BooleanExpression categoryExpression = null;
-        if (user1.getCategoryEnum() != null && !user1.getCategoryEnum().isEmpty()) {
-            categoryExpression = user.categoryEnum.contains(user1.getCategoryEnum().get(0));}
-            for (int i = 1; i < user1.getCategoryEnum().size(); i++) {
-                categoryExpression = categoryExpression.or(user.categoryEnum.contains(user1.getCategoryEnum().get(i)));
-            }
+    public List<UserCategoryDto> findAllCategories() {
+        EnumPath<CategoryEnum> category = Expressions.enumPath(CategoryEnum.class, "category");
         return jpaQueryFactory
-                .selectFrom(user)
-                .where(user.ne(user1).and(categoryExpression))
+                .select(Projections.constructor(UserCategoryDto.class, user.id, category))
+                .from(user)
+                .join(user.categoryEnum, category)
+                .fetch();
+    }
+    // 인기 순위 적재용 : 유저별 친구 수
+    public List<UserCountDto> findAllFriendCounts() {
+        return jpaQueryFactory
+                .select(Projections.constructor(UserCountDto.class, user.id, user.friendCount.longValue()))
+                .from(user)
+                .fetch();
+    }
+    // 인기 순위 적재용 : 유저별 구독자 수 (카운터 컬럼)
+    public List<UserCountDto> findAllSubscriberCounts() {
+        return jpaQueryFactory
+                .select(Projections.constructor(UserCountDto.class, user.id, user.subscriberCount.coalesce(0L)))
+                .from(user)
                 .fetch();
     }
     // 모든 유저 중에서 최근에 글을 올린(친구공개 제외) 유저를 List<User>로 뽑아옴
@@ -2,7 +2,11 @@ package com.sparta.daydeibackrepo.user.repository;
 
 import com.sparta.daydeibackrepo.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +21,63 @@ public interface UserRepository extends JpaRepository<User, Long>, UserCustomRep
         Optional<User> findByEmailLike(String searchWord);
         Optional<User> findByKakaoId(Long id);
 
+        @Query("SELECT COALESCE(u.calendarVersion, 0) FROM users u WHERE u.id = :userId")
+        Optional<Long> findCalendarVersion(@Param("userId") Long userId);
+
+        // userId 가 구독하는 유저들의 캘린더 버전 합 (버전은 늘기만 하므로 누구 하나라도 바뀌면 합이 바뀜)
+        @Query("SELECT COALESCE(SUM(COALESCE(u.calendarVersion, 0)), 0) FROM UserSubscribe us JOIN us.subscriberId u WHERE us.subscribingId.id = :userId")
+        Long sumSubscribingCalendarVersion(@Param("userId") Long userId);
+
+        @Modifying
+        @Query("UPDATE users u SET u.calendarVersion = COALESCE(u.calendarVersion, 0) + 1 WHERE u.id IN :userIds")
+        int bumpCalendarVersion(@Param("userIds") Collection<Long> userIds);
+
+        // 안 읽은 알림 수 카운터 : 엔티티는 updatable = false 라 벌크 업데이트로만 바뀜
+        @Query("SELECT COALESCE(u.unreadNotificationCount, 0) FROM users u WHERE u.id = :userId")
+        Optional<Long> findUnreadNotificationCount(@Param("userId") Long userId);
+
+        @Modifying
+        @Query("UPDATE users u SET u.unreadNotificationCount = COALESCE(u.unreadNotificationCount, 0) + :delta WHERE u.id IN :userIds")
+        int addUnreadNotificationCount(@Param("userIds") Collection<Long> userIds, @Param("delta") long delta);
+
+        @Modifying
+        @Query("UPDATE users u SET u.unreadNotificationCount = 0 WHERE u.id = :userId")
+        int resetUnreadNotificationCount(@Param("userId") Long userId);
+
+        @Modifying
+        @Query(value = "UPDATE users u SET u.unread_notification_count = " +
+                "(SELECT COUNT(*) FROM notification n WHERE n.user_id = u.id AND n.is_read = false) WHERE u.id IN (:userIds)", nativeQuery = true)
+        int recountUnreadNotifications(@Param("userIds") Collection<Long> userIds);
+
+        @Modifying
+        @Query(value = "UPDATE users u SET u.unread_notification_count = " +
+                "(SELECT COUNT(*) FROM notification n WHERE n.user_id = u.id AND n.is_read = false) WHERE u.unread_notification_count IS NULL", nativeQuery = true)
+        int fillUnreadNotificationCount();
+
+        // subscribingId 가 subscriberId 를 구독/구독 취소 (delta = 1 / -1)
+        @Modifying
+        @Query("UPDATE users u SET u.subscribingCount = COALESCE(u.subscribingCount, 0) + :delta WHERE u.id = :subscribingId")
+        int addSubscribingCount(@Param("subscribingId") Long subscribingId, @Param("delta") long delta);
+
+        @Modifying
+        @Query("UPDATE users u SET u.subscriberCount = COALESCE(u.subscriberCount, 0) + :delta WHERE u.id = :subscriberId")
+        int addSubscriberCount(@Param("subscriberId") Long subscriberId, @Param("delta") long delta);
+
+        // 구독 테이블 기준으로 다시 센 값과 다른 유저만 고침 (컬럼 추가 전 가입한 유저의 null 포함)
+        @Modifying
+        @Query(value = "UPDATE users u " +
+                "LEFT JOIN (SELECT s.subscribing_id AS user_id, COUNT(*) AS cnt FROM user_subscribe s GROUP BY s.subscribing_id) a ON a.user_id = u.id " +
+                "LEFT JOIN (SELECT s.subscriber_id AS user_id, COUNT(*) AS cnt FROM user_subscribe s GROUP BY s.subscriber_id) b ON b.user_id = u.id " +
+                "SET u.subscribing_count = COALESCE(a.cnt, 0), u.subscriber_count = COALESCE(b.cnt, 0) " +
+                "WHERE u.subscribing_count IS NULL OR u.subscriber_count IS NULL " +
+                "OR u.subscribing_count <> COALESCE(a.cnt, 0) OR u.subscriber_count <> COALESCE(b.cnt, 0)", nativeQuery = true)
+        int reconcileSubscribeCounts();
+
+        // 일정에 참여(수락)한 유저들
+        @Modifying
+        @Query("UPDATE users u SET u.calendarVersion = COALESCE(u.calendarVersion, 0) + 1 WHERE u.id IN " +
+                "(SELECT ps.user.id FROM PostSubscribe ps WHERE ps.post.id = :postId AND ps.postSubscribeCheck = true)")
+        int bumpCalendarVersionOfParticipants(@Param("postId") Long postId);
+
+
 }
@@ -0,0 +1,68 @@
+package com.sparta.daydeibackrepo.user.service;
+
+import com.sparta.daydeibackrepo.friend.service.RelationshipResolver;
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.security.UserDetailsImpl;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+// 유저별 캘린더/프로필 버전 관리 (조건부 GET 의 ETag)
+// 일정, 태그, 공유일정(PostSubscribe), 구독(UserSubscribe), 친구, 프로필이 바뀌면 해당 유저들의 버전을 올린다.
+// 캘린더 내용은 주인의 버전, 주인이 구독하는 유저들의 버전(구독 일정), 방문자와의 관계(공개범위)로 결정되므로 ETag 는 세 값으로 만든다.
+// 구독 일정이 바뀌어도 구독자 행을 하나씩 올리지 않고 (인기 유저면 일정 수정마다 수천 행 잠금) 읽을 때 구독 대상의 버전을 합쳐서 본다.
+@Service
+@RequiredArgsConstructor
+public class CalendarVersionService {
+    private final UserRepository userRepository;
+    private final RelationshipResolver relationshipResolver;
+
+    @Transactional
+    public void bump(Long... userIds) {
+        bump(Arrays.asList(userIds));
+    }
+
+    @Transactional
+    public void bump(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            userRepository.bumpCalendarVersion(userIds);
+        }
+    }
+
+    // 일정이 바뀌면 작성자, 수락한 참여자 캘린더가 바뀐다. (구독자 캘린더는 작성자 버전으로 calendarETag 에서 반영)
+    // 참여자 정리나 삭제 전에 호출해야 기존 참여자까지 반영된다.
+    @Transactional
+    public void bumpPost(Post post) {
+        userRepository.bumpCalendarVersion(Arrays.asList(post.getUser().getId()));
+        userRepository.bumpCalendarVersionOfParticipants(post.getId());
+    }
+
+    // 캘린더 조회(home/posts, home/today)용 ETag. 주인이 없으면 null (이후 로직에서 예외 처리)
+    @Transactional(readOnly = true)
+    public String calendarETag(Long userId, UserDetailsImpl userDetails) {
+        Optional<Long> version = userRepository.findCalendarVersion(userId);
+        if (version.isEmpty()) {
+            return null;
+        }
+        Long subscribingVersion = userRepository.sumSubscribingCalendarVersion(userId);
+        int relation = relationshipResolver.resolve(userDetails.getUser(), userRepository.getReferenceById(userId));
+        return "\"c" + userId + "-" + version.get() + "-" + subscribingVersion + "-" + relation + "\"";
+    }
+
+    // 프로필 조회용 ETag : 함께 아는 친구, 구독 여부 등 방문자 쪽 정보도 포함되므로 방문자 버전까지 넣는다.
+    @Transactional(readOnly = true)
+    public String profileETag(Long userId, UserDetailsImpl userDetails) {
+        Optional<Long> version = userRepository.findCalendarVersion(userId);
+        Optional<Long> visitorVersion = userRepository.findCalendarVersion(userDetails.getUser().getId());
+        if (version.isEmpty() || visitorVersion.isEmpty()) {
+            return null;
+        }
+        int relation = relationshipResolver.resolve(userDetails.getUser(), userRepository.getReferenceById(userId));
+        return "\"p" + userId + "-" + version.get() + "-" + visitorVersion.get() + "-" + relation + "\"";
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sparta.daydeibackrepo.friend.entity.Friend;
 import com.sparta.daydeibackrepo.friend.repository.FriendRepository;
+import com.sparta.daydeibackrepo.friend.service.FriendGraph;
 import com.sparta.daydeibackrepo.jwt.JwtUtil;
 import com.sparta.daydeibackrepo.notification.entity.Notification;
 import com.sparta.daydeibackrepo.notification.entity.NotificationType;
@@ -45,6 +46,9 @@ public class KakaoService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final FriendRepository friendRepository;
+    private final FriendGraph friendGraph;
+    private final UserSearchIndex userSearchIndex;
+    private final PopularityLeaderboard popularityLeaderboard;
     private final JwtUtil jwtUtil;
     private final NotificationRepository notificationRepository;
     private final PostService postService;
@@ -142,8 +146,11 @@ public class KakaoService {
             Friend friend2 = friendRepository.findByFriendRequestIdAndFriendResponseId(friendUser, user);
             if(friend1 == null && friend2 == null){
                 friendRepository.save(new Friend(user, friendUser, true));
+                friendGraph.addFriend(user.getId(), friendUser.getId());
                 user.addFriendCount();
                 friendUser.addFriendCount();
+                popularityLeaderboard.addFriendCount(user.getId(), 1);
+                popularityLeaderboard.addFriendCount(friendUser.getId(), 1);
                 postService.createBirthday(user, friendUser);
                 Notification notification = notificationRepository.findNotification(friendUser, user.getId(), NotificationType.FRIEND_REQUEST);
             }
@@ -304,6 +311,8 @@ public class KakaoService {
             }
 
             userRepository.save(kakaoUser);
+            userSearchIndex.put(kakaoUser);
+            popularityLeaderboard.put(kakaoUser);
             log.warn(kakaoUser.getEmail());
         }
         return kakaoUser;
@@ -0,0 +1,300 @@
+package com.sparta.daydeibackrepo.user.service;
+
+import com.sparta.daydeibackrepo.user.dto.UserCategoryDto;
+import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserCountDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+// 카테고리별 인기 순위 (친구 수 / 구독자 수) : 추천, 인기 유저 목록용
+// 지표마다 전체 순위 하나와 카테고리별 순위를 (수 내림차순, id 오름차순) TreeSet 으로 들고 있고
+// 구독/구독 취소, 친구 수락/삭제, 카테고리 설정 시 커밋 후에 해당 유저 항목만 빼고 다시 넣는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopularityLeaderboard {
+    public enum Metric {
+        FRIEND, SUBSCRIBER
+    }
+
+    private final UserRepository userRepository;
+
+    private Map<Long, Score> scores = new HashMap<>();
+    private Map<Metric, Board> boards = newBoards();
+    // 다시 적재하는 중에 반영된 변경 (적재 중이 아니면 null)
+    private List<Runnable> changesDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // 다른 WAS 인스턴스에서 변경된 구독/친구 수도 반영되도록 주기적으로 다시 적재
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            loadAndSwap();
+        } finally {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    // 적재 중에 들어온 변경은 교체 후 다시 적용한다.
+    // 카테고리는 "지금 값으로 다시 등록" 이라 두 번 적용해도 같고, 수는 더하기라 적재 시작과 거의 같은 때 커밋된 변경은
+    // 읽은 값에 이미 들어 있어 한 번 더 더해질 수 있으나 빠지는 변경은 없고 다음 적재에서 맞춰진다.
+    private void loadAndSwap() {
+        Map<Long, Score> newScores = new HashMap<>();
+        for (UserCountDto dto : userRepository.findAllFriendCounts()) {
+            newScores.put(dto.getUserId(), new Score(dto.getCount().intValue(), 0, EnumSet.noneOf(CategoryEnum.class)));
+        }
+        for (UserCountDto dto : userRepository.findAllSubscriberCounts()) {
+            Score score = newScores.get(dto.getUserId());
+            if (score != null) {
+                newScores.put(dto.getUserId(), new Score(score.friendCount, dto.getCount().intValue(), score.categories));
+            }
+        }
+        for (UserCategoryDto dto : userRepository.findAllCategories()) {
+            Score score = newScores.get(dto.getUserId());
+            if (score != null && dto.getCategory() != null) {
+                score.categories.add(dto.getCategory());
+            }
+        }
+        Map<Metric, Board> newBoards = newBoards();
+        newScores.forEach((userId, score) -> add(newBoards, userId, score));
+        synchronized (this) {
+            scores = newScores;
+            boards = newBoards;
+            changesDuringLoad.forEach(Runnable::run);
+        }
+        log.info("PopularityLeaderboard loaded. [users={}]", newScores.size());
+    }
+
+    // 가입, 카테고리 설정 : 수는 그대로 두고 카테고리만 다시 등록
+    public void put(User user) {
+        Long userId = user.getId();
+        EnumSet<CategoryEnum> categories = toSet(user.getCategoryEnum());
+        afterCommit(() -> update(userId, score -> new Score(score.friendCount, score.subscriberCount, categories)));
+    }
+
+    public void addFriendCount(Long userId, int delta) {
+        afterCommit(() -> update(userId, score -> new Score(score.friendCount + delta, score.subscriberCount, score.categories)));
+    }
+
+    public void addSubscriberCount(Long userId, int delta) {
+        afterCommit(() -> update(userId, score -> new Score(score.friendCount, score.subscriberCount + delta, score.categories)));
+    }
+
+    // categories 중 하나라도 고른 유저(비어 있으면 전체) 중 metric 상위 offset ~ offset + limit 번째 유저 id (excluded 제외)
+    // 카테고리 순위마다 앞에서 필요한 만큼만 읽으므로 O(카테고리 수 x (offset + limit + 제외 수))
+    public synchronized List<Long> top(Metric metric, Collection<CategoryEnum> categories, Set<Long> excluded, int offset, int limit) {
+        int k = offset + limit;
+        if (limit <= 0 || k < 0) {
+            return new ArrayList<>();
+        }
+        Board board = boards.get(metric);
+        List<NavigableSet<Entry>> rankings = new ArrayList<>();
+        if (categories == null || categories.isEmpty()) {
+            rankings.add(board.all);
+        } else {
+            for (CategoryEnum category : EnumSet.copyOf(categories)) {
+                rankings.add(board.byCategory.get(category));
+            }
+        }
+        // 각 순위의 앞부분을 모아서 다시 정렬 (여러 카테고리에 있는 유저는 한 번만)
+        TreeSet<Entry> merged = new TreeSet<>();
+        for (NavigableSet<Entry> ranking : rankings) {
+            int taken = 0;
+            for (Entry entry : ranking) {
+                if (taken >= k) {
+                    break;
+                }
+                if (excluded != null && excluded.contains(entry.userId)) {
+                    continue;
+                }
+                merged.add(entry);
+                taken++;
+            }
+        }
+        List<Long> result = new ArrayList<>();
+        int index = 0;
+        for (Entry entry : merged) {
+            if (index >= k) {
+                break;
+            }
+            if (index >= offset) {
+                result.add(entry.userId);
+            }
+            index++;
+        }
+        return result;
+    }
+
+    // userIds 중 metric 상위 offset ~ offset + limit 번째 유저 id (검색 결과를 인기 순으로 자를 때)
+    // 상위 offset + limit 개만 남기는 힙이라 O(userIds 수 x log(offset + limit))
+    public synchronized List<Long> topAmong(Metric metric, Collection<Long> userIds, int offset, int limit) {
+        int k = offset + limit;
+        if (limit <= 0 || k < 0) {
+            return new ArrayList<>();
+        }
+        // 가장 뒤 순위가 꼭대기
+        PriorityQueue<Entry> top = new PriorityQueue<>(Math.min(k, 1024), Comparator.reverseOrder());
+        for (Long userId : userIds) {
+            Score score = scores.get(userId);
+            int count = score == null ? 0 : metric == Metric.FRIEND ? score.friendCount : score.subscriberCount;
+            top.add(new Entry(userId, count));
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        List<Entry> sorted = new ArrayList<>(top);
+        Collections.sort(sorted);
+        List<Long> result = new ArrayList<>();
+        for (int i = offset; i < sorted.size(); i++) {
+            result.add(sorted.get(i).userId);
+        }
+        return result;
+    }
+
+    private void update(Long userId, UnaryOperator<Score> change) {
+        Score old = scores.get(userId);
+        if (old != null) {
+            remove(boards, userId, old);
+        }
+        Score score = change.apply(old == null ? new Score(0, 0, EnumSet.noneOf(CategoryEnum.class)) : old);
+        scores.put(userId, score);
+        add(boards, userId, score);
+    }
+
+    private static void add(Map<Metric, Board> boards, Long userId, Score score) {
+        boards.get(Metric.FRIEND).add(new Entry(userId, score.friendCount), score.categories);
+        boards.get(Metric.SUBSCRIBER).add(new Entry(userId, score.subscriberCount), score.categories);
+    }
+
+    private static void remove(Map<Metric, Board> boards, Long userId, Score score) {
+        boards.get(Metric.FRIEND).remove(new Entry(userId, score.friendCount), score.categories);
+        boards.get(Metric.SUBSCRIBER).remove(new Entry(userId, score.subscriberCount), score.categories);
+    }
+
+    private static Map<Metric, Board> newBoards() {
+        Map<Metric, Board> boards = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            boards.put(metric, new Board());
+        }
+        return boards;
+    }
+
+    private static EnumSet<CategoryEnum> toSet(Collection<CategoryEnum> categories) {
+        EnumSet<CategoryEnum> set = EnumSet.noneOf(CategoryEnum.class);
+        if (categories != null) {
+            for (CategoryEnum category : categories) {
+                if (category != null) {
+                    set.add(category);
+                }
+            }
+        }
+        return set;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 반영. 적재 중이면 교체 후 다시 적용하도록 남겨 둔다.
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                change.run();
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.add(change);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // 지표 하나의 전체 순위 + 카테고리별 순위
+    private static class Board {
+        private final TreeSet<Entry> all = new TreeSet<>();
+        private final Map<CategoryEnum, TreeSet<Entry>> byCategory = new EnumMap<>(CategoryEnum.class);
+
+        private Board() {
+            for (CategoryEnum category : CategoryEnum.values()) {
+                byCategory.put(category, new TreeSet<>());
+            }
+        }
+
+        private void add(Entry entry, Set<CategoryEnum> categories) {
+            all.add(entry);
+            for (CategoryEnum category : categories) {
+                byCategory.get(category).add(entry);
+            }
+        }
+
+        private void remove(Entry entry, Set<CategoryEnum> categories) {
+            all.remove(entry);
+            for (CategoryEnum category : categories) {
+                byCategory.get(category).remove(entry);
+            }
+        }
+    }
+
+    private static class Score {
+        private final int friendCount;
+        private final int subscriberCount;
+        private final EnumSet<CategoryEnum> categories;
+
+        private Score(int friendCount, int subscriberCount, EnumSet<CategoryEnum> categories) {
+            this.friendCount = friendCount;
+            this.subscriberCount = subscriberCount;
+            this.categories = categories;
+        }
+    }
+
+    // 수 내림차순, 같으면 id 오름차순
+    private static class Entry implements Comparable<Entry> {
+        private final Long userId;
+        private final int count;
+
+        private Entry(Long userId, int count) {
+            this.userId = userId;
+            this.count = count;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byCount = Integer.compare(other.count, count);
+            return byCount != 0 ? byCount : Long.compare(userId, other.userId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && compareTo((Entry) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, count);
+        }
+    }
+}
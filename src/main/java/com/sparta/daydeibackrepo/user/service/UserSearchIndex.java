@@ -0,0 +1,315 @@
+package com.sparta.daydeibackrepo.user.service;
+
+import com.sparta.daydeibackrepo.user.dto.UserCategoryDto;
+import com.sparta.daydeibackrepo.user.dto.UserSearchDto;
+import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+// 닉네임/이메일 부분 검색 인덱스 (추천, 친구/구독 목록, 태그할 친구 검색)
+// 닉네임, 이메일(소문자)의 길이 1~3 인 모든 부분 문자열(n-gram) -> 유저 id 목록을 들고 있고
+// 검색어가 3자 이하면 그 n-gram 목록이 곧 결과, 더 길면 검색어의 3-gram 목록들의 교집합을 contains 로 한 번 더 확인한다.
+// 회원가입, 프로필 수정, 카테고리 설정, 카카오 로그인에서 커밋 후 반영하고, 다른 WAS 인스턴스의 변경은 주기적으로 다시 적재한다.
+// 다시 적재하는 동안 들어온 변경은 모아 뒀다가 교체 후 다시 적용한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+    private static final int GRAM = 3;
+
+    private final UserRepository userRepository;
+
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<String, Set<Long>> postings = new HashMap<>();
+    // 다시 적재하는 중에 반영된 변경 (적재 중이 아니면 null)
+    private List<Runnable> changesDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 5 * 60 * 1000L)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try {
+            loadAndSwap();
+        } finally {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+        }
+    }
+
+    // 읽는 동안 커밋된 변경은 DB 에서 읽은 값에 이미 들어 있을 수도 있으나, 변경은 "지금 값으로 다시 등록" 이라 두 번 적용해도 같다.
+    private void loadAndSwap() {
+        Map<Long, Entry> newEntries = new HashMap<>();
+        for (UserSearchDto dto : userRepository.findAllSearchEntries()) {
+            newEntries.put(dto.getUserId(), new Entry(dto.getUserId(), dto.getNickName(), dto.getEmail(), 0));
+        }
+        for (UserCategoryDto dto : userRepository.findAllCategories()) {
+            Entry entry = newEntries.get(dto.getUserId());
+            if (entry != null && dto.getCategory() != null) {
+                newEntries.put(entry.userId, new Entry(entry.userId, entry.nickName, entry.email, entry.categories | bit(dto.getCategory())));
+            }
+        }
+        Map<String, Set<Long>> newPostings = new HashMap<>();
+        for (Entry entry : newEntries.values()) {
+            for (String gram : grams(entry)) {
+                newPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.userId);
+            }
+        }
+        synchronized (this) {
+            entries = newEntries;
+            postings = newPostings;
+            changesDuringLoad.forEach(Runnable::run);
+        }
+        log.info("UserSearchIndex loaded. [users={}, grams={}]", newEntries.size(), newPostings.size());
+    }
+
+    // 가입/프로필/카테고리 변경 : 지금 값으로 커밋 후에 다시 등록
+    public void put(User user) {
+        Entry entry = new Entry(user.getId(), user.getNickName(), user.getEmail(), bits(user.getCategoryEnum()));
+        afterCommit(() -> {
+            remove(entry.userId);
+            entries.put(entry.userId, entry);
+            for (String gram : grams(entry)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry.userId);
+            }
+        });
+    }
+
+    // 검색어(대소문자 무시)가 닉네임이나 이메일에 들어있고 filter 를 통과하는 유저 id
+    // 닉네임 앞부분 일치 > 닉네임 포함 > 이메일 앞부분 일치 > 이메일 포함, 같으면 짧은 닉네임, id 순으로 offset 부터 limit 개
+    public synchronized List<Long> search(String keyword, Filter filter, int offset, int limit) {
+        String query = normalize(keyword);
+        int k = offset + limit;
+        if (limit <= 0 || k < 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Entry> order = Comparator.<Entry>comparingInt(entry -> rank(entry, query))
+                .thenComparingInt(entry -> entry.nickName.length())
+                .thenComparingLong(entry -> entry.userId);
+        // 상위 k 개만 남기는 최대 힙 (가장 뒤 순위가 꼭대기)
+        PriorityQueue<Entry> top = new PriorityQueue<>(Math.min(k, 1024), order.reversed());
+        for (Entry entry : candidates(query, filter)) {
+            top.add(entry);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        List<Long> result = new ArrayList<>();
+        for (int i = offset; i < sorted.size(); i++) {
+            result.add(sorted.get(i).userId);
+        }
+        return result;
+    }
+
+    // 순서 상관없이 조건에 맞는 유저 id 전부 (이미 정렬된 목록을 거를 때)
+    public synchronized Set<Long> match(String keyword, Filter filter) {
+        Set<Long> result = new HashSet<>();
+        for (Entry entry : candidates(normalize(keyword), filter)) {
+            result.add(entry.userId);
+        }
+        return result;
+    }
+
+    private List<Entry> candidates(String query, Filter filter) {
+        List<Entry> result = new ArrayList<>();
+        // 대상 범위(친구 목록 등)가 n-gram 목록보다 작으면 범위 쪽을 훑음
+        Collection<Long> ids = postingIds(query);
+        if (filter.within != null && filter.within.size() < ids.size()) {
+            ids = filter.within;
+        }
+        for (Long userId : ids) {
+            Entry entry = entries.get(userId);
+            if (entry != null && filter.test(entry) && entry.contains(query)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    // 검색어를 포함할 수 있는 유저 id (3자 초과면 3-gram 목록 중 가장 작은 것, 나머지 조건은 contains 로 확인)
+    private Collection<Long> postingIds(String query) {
+        if (query.isEmpty()) {
+            return entries.keySet();
+        }
+        if (query.length() <= GRAM) {
+            return postings.getOrDefault(query, Collections.emptySet());
+        }
+        Set<Long> smallest = null;
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Set<Long> ids = postings.getOrDefault(query.substring(i, i + GRAM), Collections.emptySet());
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    private void remove(Long userId) {
+        Entry old = entries.remove(userId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(userId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static int rank(Entry entry, String query) {
+        if (entry.nickName.startsWith(query)) {
+            return 0;
+        }
+        if (entry.nickName.contains(query)) {
+            return 1;
+        }
+        return entry.email.startsWith(query) ? 2 : 3;
+    }
+
+    private static Set<String> grams(Entry entry) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, entry.nickName);
+        addGrams(grams, entry.email);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            for (int n = 1; n <= GRAM && i + n <= value.length(); n++) {
+                grams.add(value.substring(i, i + n));
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static int bit(CategoryEnum category) {
+        return 1 << category.ordinal();
+    }
+
+    private static int bits(Collection<CategoryEnum> categories) {
+        int bits = 0;
+        if (categories != null) {
+            for (CategoryEnum category : categories) {
+                if (category != null) {
+                    bits |= bit(category);
+                }
+            }
+        }
+        return bits;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 밖이면 바로 반영. 적재 중이면 교체 후 다시 적용하도록 남겨 둔다.
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                change.run();
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.add(change);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // 검색 조건 : 카테고리(하나라도 일치), 대상 유저 id 범위(친구, 구독 목록 등), 제외할 유저
+    public static class Filter {
+        private int categories;
+        private Collection<Long> within;
+        private final Set<Long> excluded = new HashSet<>();
+
+        public static Filter all() {
+            return new Filter();
+        }
+
+        public Filter categories(Collection<CategoryEnum> categories) {
+            this.categories = bits(categories);
+            return this;
+        }
+
+        public Filter within(Collection<Long> userIds) {
+            this.within = userIds;
+            return this;
+        }
+
+        public Filter within(long[] userIds) {
+            List<Long> ids = new ArrayList<>(userIds.length);
+            for (long userId : userIds) {
+                ids.add(userId);
+            }
+            return within(ids);
+        }
+
+        public Filter exclude(Long userId) {
+            excluded.add(userId);
+            return this;
+        }
+
+        public Filter exclude(Collection<Long> userIds) {
+            excluded.addAll(userIds);
+            return this;
+        }
+
+        public Filter exclude(long[] userIds) {
+            for (long userId : userIds) {
+                excluded.add(userId);
+            }
+            return this;
+        }
+
+        private boolean test(Entry entry) {
+            return !excluded.contains(entry.userId) && (categories == 0 || (entry.categories & categories) != 0);
+        }
+    }
+
+    private static class Entry {
+        private final Long userId;
+        private final String nickName;
+        private final String email;
+        private final int categories;
+
+        private Entry(Long userId, String nickName, String email, int categories) {
+            this.userId = userId;
+            this.nickName = normalize(nickName);
+            this.email = normalize(email);
+            this.categories = categories;
+        }
+
+        private boolean contains(String query) {
+            return nickName.contains(query) || email.contains(query);
+        }
+    }
+}
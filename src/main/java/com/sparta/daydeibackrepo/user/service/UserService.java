@@ -2,13 +2,13 @@ package com.sparta.daydeibackrepo.user.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
 import com.sparta.daydeibackrepo.exception.message.ExceptionMessage;
-import com.sparta.daydeibackrepo.friend.repository.FriendCustomRepository;
+import com.sparta.daydeibackrepo.friend.dto.RelationMatrix;
 import com.sparta.daydeibackrepo.friend.service.FriendService;
+import com.sparta.daydeibackrepo.friend.service.RelationMatrixService;
 import com.sparta.daydeibackrepo.jwt.JwtUtil;
+import com.sparta.daydeibackrepo.lease.aop.ScheduledWithLease;
 import com.sparta.daydeibackrepo.mail.dto.MailDto;
 import com.sparta.daydeibackrepo.mail.service.MailService;
-import com.sparta.daydeibackrepo.notification.entity.Notification;
-import com.sparta.daydeibackrepo.notification.repository.NotificationRepository;
 import com.sparta.daydeibackrepo.post.repository.PostRepository;
 import com.sparta.daydeibackrepo.s3.service.S3Service;
 import com.sparta.daydeibackrepo.security.UserDetailsImpl;
@@ -16,7 +16,6 @@ import com.sparta.daydeibackrepo.user.dto.*;
 import com.sparta.daydeibackrepo.user.entity.CategoryEnum;
 import com.sparta.daydeibackrepo.user.entity.UserRoleEnum;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
-import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
 import com.sparta.daydeibackrepo.util.StatusResponseDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -31,7 +30,9 @@ import javax.servlet.http.HttpServletResponse;
 import javax.transaction.Transactional;
 import javax.validation.Valid;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,11 +49,12 @@ public class UserService {
     private final JwtUtil jwtUtil;
     private final MailService mailService;
     private final S3Service s3Service;
-    private final FriendCustomRepository friendRepository;
-    private final UserSubscribeRepository userSubscribeRepository;
     private final PostRepository postRepository;
     private final FriendService friendService;
-    private final NotificationRepository notificationRepository;
+    private final RelationMatrixService relationMatrixService;
+    private final CalendarVersionService calendarVersionService;
+    private final UserSearchIndex userSearchIndex;
+    private final PopularityLeaderboard popularityLeaderboard;
 
 
     @Transactional
@@ -72,6 +74,8 @@ public class UserService {
         }
         User user = new User(email, password, nickName, birthday);
         userRepository.save(user);
+        userSearchIndex.put(user);
+        popularityLeaderboard.put(user);
         return StatusResponseDto.toResponseEntity(SIGN_UP_SUCCESS);
     }
 
@@ -95,12 +99,6 @@ public class UserService {
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new CustomException(PASSWORD_INCORRECT);
         }
-        Optional<Notification> notification = notificationRepository.findByIdAndIsRead(user.getId(), false);
-
-        if(notification.isPresent()) {
-            user.setIsNewNotification();
-        }
-
 
         response.addHeader(JwtUtil.AUTHORIZATION_HEADER, jwtUtil.createToken(user.getEmail(), UserRoleEnum.USER));
         isLogin = true;
@@ -116,8 +114,8 @@ public class UserService {
             throw new CustomException(BIRTHDAY_INCORRECT);
         }
         String newPassword = UUID.randomUUID().toString().substring(0,8);
-        mailService.sendFindPasswordMail(new MailDto(user, newPassword));
         user.updatePassword(passwordEncoder.encode(newPassword));
+        mailService.sendFindPasswordMail(new MailDto(user, newPassword));
         return StatusResponseDto.toResponseEntity(TEMPORARY_PASSWORD_HAS_BEEN_EMAILED);
     }
 
@@ -138,6 +136,9 @@ public class UserService {
             }
         }
         userRepository.save(user);
+        userSearchIndex.put(user);
+        popularityLeaderboard.put(user);
+        calendarVersionService.bump(user.getId());
         return StatusResponseDto.toResponseEntity(CATAGORY_CREATED_SUCCESS);
     }
 
@@ -182,6 +183,8 @@ public class UserService {
 //        }
         user.update(userProfileRequestDto, profileImageUrl, backgroundImageUrl);
         userRepository.save(user);
+        userSearchIndex.put(user);
+        calendarVersionService.bump(user.getId());
         return new UserProfileResponseDto(user);
     }
 
@@ -196,46 +199,27 @@ public class UserService {
         if (visitor == user){
             return new UserResponseDto(user);
         }
-        UserResponseDto userResponseDto;
-        List<User> userSubscribers = userSubscribeRepository.findAllSubscriberUser(visitor);
-        List<User> friends = friendRepository.findAllFriends(visitor);
-        List<User> responseUsers = friendRepository.findResponseUser(visitor);
-        List<User> requestUsers = friendRepository.findRequestUser(visitor);
-        List<User> mutualFriends = friendRepository.findAllFriends(user);
-        mutualFriends.retainAll(friends);
-        boolean friendCheck = false;
-        boolean userSubscribeCheck = false;
+        RelationMatrix relations = relationMatrixService.load(visitor, List.of(user.getId()));
         boolean updateCheck = false;
-        if (friends.contains(user)) {
-            friendCheck = true;
-        }
-        if (userSubscribers.contains(user)) {
-            userSubscribeCheck = true;
-        }
-        if(friendCheck) {
+        if(relations.isFriend(user.getId())) {
             if (user.getFriendUpdateCheck()) {updateCheck = true;}
         }
         else{
             if (user.getUserUpdateCheck()) {updateCheck = true;}
         }
-        if (requestUsers.contains(user)) {
-            userResponseDto = new UserResponseDto(user, friendCheck, true, userSubscribeCheck, updateCheck, mutualFriends);
-            }
-        else if (responseUsers.contains(user)) {
-            userResponseDto = new UserResponseDto(user, friendCheck, false, userSubscribeCheck, updateCheck, mutualFriends);
-        }
-        else {
-            userResponseDto = new UserResponseDto(user, friendCheck, userSubscribeCheck, updateCheck, mutualFriends);
-        }
-        return userResponseDto;
+        return new UserResponseDto(user, relations, updateCheck);
     }
     @Scheduled(cron="0 0 * * * ?")
+    @ScheduledWithLease(name = "userUpdateStatusCheck", leaseSeconds = 30 * 60)
     @Transactional
     public void userUpdateStatusCheck(){
         List<User> users = userRepository.findAll();
         List<User> updateUsers = userRepository.findAllUpdateUser();
         List<User> updateFriends = userRepository.findAllFriendUpdateUser();
+        List<Long> changedUserIds = new ArrayList<>();
         for(User user : users){
+            Boolean userUpdateCheck = user.getUserUpdateCheck();
+            Boolean friendUpdateCheck = user.getFriendUpdateCheck();
             if (updateUsers.contains(user)){
                 user.setUserUpdateCheck(true);
             }
@@ -244,6 +228,11 @@ public class UserService {
                 user.setFriendUpdateCheck(true);
             }
             else {user.setFriendUpdateCheck(false);}
+            // 프로필에 표시되는 업데이트 여부가 바뀐 유저만 버전 증가
+            if (!Objects.equals(userUpdateCheck, user.getUserUpdateCheck()) || !Objects.equals(friendUpdateCheck, user.getFriendUpdateCheck())) {
+                changedUserIds.add(user.getId());
+            }
         }
+        calendarVersionService.bump(changedUserIds);
     }
 }
@@ -0,0 +1,16 @@
+package com.sparta.daydeibackrepo.userSubscribe.dto;
+
+import lombok.Getter;
+
+// 유저별 구독/구독자 수 (group by 결과)
+@Getter
+public class UserCountDto {
+    private Long userId;
+
+    private Long count;
+
+    public UserCountDto(Long userId, Long count) {
+        this.userId = userId;
+        this.count = count;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sparta.daydeibackrepo.userSubscribe.dto;
+
+import lombok.Getter;
+
+// 구독 중인 유저 id 와 캘린더 표시 여부
+@Getter
+public class UserSubscribeStateDto {
+    private Long userId;
+
+    private Boolean isVisible;
+
+    public UserSubscribeStateDto(Long userId, Boolean isVisible) {
+        this.userId = userId;
+        this.isVisible = isVisible;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sparta.daydeibackrepo.userSubscribe.entity;
+
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.user.entity.User;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 구독 타임라인 : 구독 공개(SUBSCRIBE) 일정을 작성 시점에 구독자별로 한 줄씩 펼쳐둔 테이블
+// 읽을 때는 reader_id + 기간으로 인덱스 범위 조회 한 번으로 끝난다.
+// 구독자 한 명에게 일정은 한 줄만 (reader_id, post_id 유니크) 이고, 펼치는 쿼리는 모두 INSERT IGNORE 라 여러 번 실행돼도 중복되지 않는다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "subscribe_timeline",
+        uniqueConstraints = @UniqueConstraint(name = "uk_subscribe_timeline_reader_post", columnNames = {"reader_id", "post_id"}),
+        indexes = {
+                @Index(name = "idx_subscribe_timeline_reader_period", columnList = "reader_id, start_date, end_date"),
+                @Index(name = "idx_subscribe_timeline_post", columnList = "post_id")
+        })
+public class SubscribeTimeline {
+
+    @Id
+    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 구독하는 유저 (UserSubscribe.subscribingId)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reader_id", nullable = false)
+    private User reader;
+
+    // 일정 작성자 (UserSubscribe.subscriberId)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    // UserSubscribe.isVisible 복사본
+    @Column(name = "is_visible", nullable = false)
+    private Boolean isVisible;
+
+    // 행이 추가/변경된 시각 (증분 동기화 기준)
+    @Column(name = "modified_at", nullable = false)
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,55 @@
+package com.sparta.daydeibackrepo.userSubscribe.repository;
+
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.entity.SubscribeTimeline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface SubscribeTimelineRepository extends JpaRepository<SubscribeTimeline, Long> {
+
+    // 구독 공개 일정 하나를 그 작성자의 모든 구독자에게 펼침
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO subscribe_timeline (reader_id, owner_id, post_id, start_date, end_date, is_visible, modified_at) " +
+            "SELECT us.subscribing_id, p.user_id, p.id, p.start_date, p.end_date, us.is_visible, :now " +
+            "FROM post p JOIN user_subscribe us ON us.subscriber_id = p.user_id " +
+            "WHERE p.id = :postId AND p.scope = 'SUBSCRIBE'", nativeQuery = true)
+    int fanOutPost(@Param("postId") Long postId, @Param("now") LocalDateTime now);
+
+    // 새로 구독한 경우 : 작성자의 기존 구독 공개 일정을 구독자 타임라인에 채움
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO subscribe_timeline (reader_id, owner_id, post_id, start_date, end_date, is_visible, modified_at) " +
+            "SELECT us.subscribing_id, p.user_id, p.id, p.start_date, p.end_date, us.is_visible, :now " +
+            "FROM post p JOIN user_subscribe us ON us.subscriber_id = p.user_id " +
+            "WHERE us.subscribing_id = :readerId AND us.subscriber_id = :ownerId AND p.scope = 'SUBSCRIBE'", nativeQuery = true)
+    int fanOutSubscribe(@Param("readerId") Long readerId, @Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+
+    // 최초 배포 시 기존 구독 관계 전체를 채움
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO subscribe_timeline (reader_id, owner_id, post_id, start_date, end_date, is_visible, modified_at) " +
+            "SELECT us.subscribing_id, p.user_id, p.id, p.start_date, p.end_date, us.is_visible, :now " +
+            "FROM post p JOIN user_subscribe us ON us.subscriber_id = p.user_id " +
+            "WHERE p.scope = 'SUBSCRIBE'", nativeQuery = true)
+    int fanOutAll(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from SubscribeTimeline t where t.post = :post")
+    int deleteAllByPost(@Param("post") Post post);
+
+    @Modifying
+    @Query("delete from SubscribeTimeline t where t.reader = :reader and t.owner = :owner")
+    int deleteAllByReaderAndOwner(@Param("reader") User reader, @Param("owner") User owner);
+
+    @Modifying
+    @Query("update SubscribeTimeline t set t.startDate = :startDate, t.endDate = :endDate, t.modifiedAt = :now where t.post = :post")
+    int updatePeriod(@Param("post") Post post, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update SubscribeTimeline t set t.isVisible = :isVisible, t.modifiedAt = :now where t.reader = :reader and t.owner = :owner")
+    int updateVisible(@Param("reader") User reader, @Param("owner") User owner, @Param("isVisible") Boolean isVisible, @Param("now") LocalDateTime now);
+}
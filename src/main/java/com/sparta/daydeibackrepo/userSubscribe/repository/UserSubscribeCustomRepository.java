@@ -1,9 +1,11 @@
 package com.sparta.daydeibackrepo.userSubscribe.repository;
 
 import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserSubscribeStateDto;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import com.sparta.daydeibackrepo.util.SortEnum;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserSubscribeCustomRepository {
@@ -12,4 +14,6 @@ public interface UserSubscribeCustomRepository {
 
     List<User> findAllSubscriberUserBySort(User user, SortEnum sortEnum);
     List<User> findVisibleUserSubscribe(User user);
+    List<UserSubscribeStateDto> findSubscribeStates(Long subscribingId, Collection<Long> subscriberIds);
+    List<Long> findSubscriberIds(Long subscribingId);
 }
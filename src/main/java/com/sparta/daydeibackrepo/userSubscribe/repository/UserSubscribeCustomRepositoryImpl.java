@@ -1,16 +1,19 @@
 package com.sparta.daydeibackrepo.userSubscribe.repository;
 
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.sparta.daydeibackrepo.post.entity.Post;
 import com.sparta.daydeibackrepo.post.entity.QPost;
 import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.dto.UserSubscribeStateDto;
 import com.sparta.daydeibackrepo.userSubscribe.entity.QUserSubscribe;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import com.sparta.daydeibackrepo.util.SortEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import static com.sparta.daydeibackrepo.post.entity.QPost.post;
@@ -35,7 +38,7 @@ public class UserSubscribeCustomRepositoryImpl implements UserSubscribeCustomRep
                 .from(userSubscribe)
                 .where(userSubscribe.subscriberId.eq(user));
         if (sortEnum.equals(SortEnum.FAMOUS)) {
-            query.orderBy(userSubscribe.subscribingId.subscribing.size().desc());
+            query.orderBy(userSubscribe.subscribingId.subscribingCount.desc());
         }
         else if (sortEnum.equals(SortEnum.RECENT)) {
             query.orderBy(userSubscribe.createdAt.desc());
@@ -56,7 +59,7 @@ public class UserSubscribeCustomRepositoryImpl implements UserSubscribeCustomRep
                 .from(userSubscribe)
                 .where(userSubscribe.subscribingId.eq(user));
         if (sortEnum.equals(SortEnum.FAMOUS)) {
-            query.orderBy(userSubscribe.subscriberId.subscriber.size().desc());
+            query.orderBy(userSubscribe.subscriberId.subscriberCount.desc());
         }
         else if (sortEnum.equals(SortEnum.RECENT)) {
             query.orderBy(userSubscribe.createdAt.desc());
@@ -84,4 +87,19 @@ public class UserSubscribeCustomRepositoryImpl implements UserSubscribeCustomRep
                 .where(userSubscribe.isVisible.eq(true).and(userSubscribe.subscribingId.eq(user)))
                 .fetch();
     }
+    // subscribingId 가 subscriberIds 중에서 구독 중인 유저와 캘린더 표시 여부
+    public List<UserSubscribeStateDto> findSubscribeStates(Long subscribingId, Collection<Long> subscriberIds){
+        return jpaQueryFactory.select(Projections.constructor(UserSubscribeStateDto.class,
+                        userSubscribe.subscriberId.id, userSubscribe.isVisible))
+                .from(userSubscribe)
+                .where(userSubscribe.subscribingId.id.eq(subscribingId).and(userSubscribe.subscriberId.id.in(subscriberIds)))
+                .fetch();
+    }
+    // subscribingId 가 구독 중인 유저 id
+    public List<Long> findSubscriberIds(Long subscribingId){
+        return jpaQueryFactory.select(userSubscribe.subscriberId.id)
+                .from(userSubscribe)
+                .where(userSubscribe.subscribingId.id.eq(subscribingId))
+                .fetch();
+    }
 }
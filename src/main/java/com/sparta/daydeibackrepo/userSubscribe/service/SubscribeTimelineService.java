@@ -0,0 +1,91 @@
+package com.sparta.daydeibackrepo.userSubscribe.service;
+
+import com.sparta.daydeibackrepo.lease.aop.ScheduledWithLease;
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
+import com.sparta.daydeibackrepo.post.repository.PostTombstoneRepository;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.userSubscribe.repository.SubscribeTimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 구독 공개(SUBSCRIBE) 일정을 구독자 타임라인에 쓰기 시점에 펼쳐두는 서비스
+// 일정 생성/수정/삭제, 구독/구독취소, 구독 일정 표시 여부 변경 시 호출된다.
+// 타임라인에서 행을 지울 때는 구독자 캘린더의 삭제 기록(PostTombstone)을 먼저 남긴다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscribeTimelineService {
+    private final SubscribeTimelineRepository subscribeTimelineRepository;
+    private final PostTombstoneRepository postTombstoneRepository;
+
+    @Transactional
+    public void fanOut(Post post) {
+        if (post.getScope() == ScopeEnum.SUBSCRIBE) {
+            subscribeTimelineRepository.fanOutPost(post.getId(), LocalDateTime.now());
+        }
+    }
+
+    // 일정 수정 : 구독 공개로 바뀌면 펼치고, 구독 공개에서 빠지면 거둬들이고, 계속 구독 공개면 기간이 바뀐 경우만 기간을 맞춤
+    // (제목/내용만 바뀐 경우는 타임라인을 건드리지 않음, 증분 동기화는 post.modifiedAt 으로 잡힘)
+    @Transactional
+    public void refresh(Post post, ScopeEnum previousScope, boolean periodChanged) {
+        boolean wasSubscribe = previousScope == ScopeEnum.SUBSCRIBE;
+        boolean isSubscribe = post.getScope() == ScopeEnum.SUBSCRIBE;
+        if (wasSubscribe && !isSubscribe) {
+            retract(post);
+        } else if (!wasSubscribe && isSubscribe) {
+            fanOut(post);
+        } else if (isSubscribe && periodChanged) {
+            reschedule(post);
+        }
+    }
+
+    // 드래그로 날짜만 바뀐 경우
+    @Transactional
+    public void reschedule(Post post) {
+        if (post.getScope() == ScopeEnum.SUBSCRIBE) {
+            subscribeTimelineRepository.updatePeriod(post, post.getStartDate(), post.getEndDate(), LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void retract(Post post) {
+        postTombstoneRepository.insertTimelineReaders(post.getId(), LocalDateTime.now());
+        subscribeTimelineRepository.deleteAllByPost(post);
+    }
+
+    @Transactional
+    public void subscribe(User reader, User owner) {
+        subscribeTimelineRepository.fanOutSubscribe(reader.getId(), owner.getId(), LocalDateTime.now());
+    }
+
+    @Transactional
+    public void unsubscribe(User reader, User owner) {
+        postTombstoneRepository.insertTimelineSubscribe(reader.getId(), owner.getId(), LocalDateTime.now());
+        subscribeTimelineRepository.deleteAllByReaderAndOwner(reader, owner);
+    }
+
+    @Transactional
+    public void setVisible(User reader, User owner, Boolean isVisible) {
+        subscribeTimelineRepository.updateVisible(reader, owner, isVisible, LocalDateTime.now());
+    }
+
+    // 타임라인 테이블이 비어있으면(최초 배포) 기존 구독 관계로 채움
+    // 두 WAS 가 같이 뜨는 경우 lease 를 잡은 한 대만 채우고, 겹치더라도 INSERT IGNORE 라 중복되지 않음
+    @EventListener(ApplicationReadyEvent.class)
+    @ScheduledWithLease(name = "subscribeTimelineBackfill", leaseSeconds = 10 * 60)
+    @Transactional
+    public void backfill() {
+        if (subscribeTimelineRepository.count() == 0) {
+            int count = subscribeTimelineRepository.fanOutAll(LocalDateTime.now());
+            log.info("SubscribeTimeline backfilled. [rows={}]", count);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.sparta.daydeibackrepo.userSubscribe.service;
 
 import com.sparta.daydeibackrepo.exception.CustomException;
-import com.sparta.daydeibackrepo.friend.repository.FriendCustomRepository;
 import com.sparta.daydeibackrepo.friend.service.FriendService;
+import com.sparta.daydeibackrepo.friend.service.RelationshipResolver;
+import com.sparta.daydeibackrepo.lease.aop.ScheduledWithLease;
 import com.sparta.daydeibackrepo.notification.entity.Notification;
 import com.sparta.daydeibackrepo.notification.entity.NotificationType;
 import com.sparta.daydeibackrepo.notification.repository.NotificationRepository;
@@ -11,6 +12,8 @@ import com.sparta.daydeibackrepo.security.UserDetailsImpl;
 import com.sparta.daydeibackrepo.user.dto.UserResponseDto;
 import com.sparta.daydeibackrepo.user.entity.User;
 import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import com.sparta.daydeibackrepo.user.service.CalendarVersionService;
+import com.sparta.daydeibackrepo.user.service.PopularityLeaderboard;
 import com.sparta.daydeibackrepo.userSubscribe.dto.UserSubscribeResponseDto;
 import com.sparta.daydeibackrepo.userSubscribe.entity.UserSubscribe;
 import com.sparta.daydeibackrepo.userSubscribe.repository.UserSubscribeRepository;
@@ -18,14 +21,16 @@ import com.sparta.daydeibackrepo.util.SortEnum;
 import com.sparta.daydeibackrepo.util.StatusResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.sparta.daydeibackrepo.exception.message.ExceptionMessage.*;
 import static com.sparta.daydeibackrepo.exception.message.SuccessMessage.*;
@@ -35,11 +40,14 @@ import static com.sparta.daydeibackrepo.exception.message.SuccessMessage.*;
 @RequiredArgsConstructor
 public class UserSubscribeService {
     private final NotificationRepository notificationRepository;
-    private final FriendCustomRepository friendRepository;
     private final NotificationService notificationService;
     private final UserSubscribeRepository userSubscribeRepository;
     private final UserRepository userRepository;
     private final FriendService friendService;
+    private final SubscribeTimelineService subscribeTimelineService;
+    private final RelationshipResolver relationshipResolver;
+    private final CalendarVersionService calendarVersionService;
+    private final PopularityLeaderboard popularityLeaderboard;
     @Transactional
     public UserSubscribeResponseDto createSubscribe(Long userid, UserDetailsImpl userDetails) {
         User subscribing = userRepository.findByEmail(userDetails.getUsername()).orElseThrow(
@@ -58,6 +66,12 @@ public class UserSubscribeService {
 
         UserSubscribe userSubscribe1 = new UserSubscribe(subscribing, subscriber);
         userSubscribeRepository.save(userSubscribe1);
+        userRepository.addSubscribingCount(subscribing.getId(), 1);
+        userRepository.addSubscriberCount(subscriber.getId(), 1);
+        subscribeTimelineService.subscribe(subscribing, subscriber);
+        popularityLeaderboard.addSubscriberCount(subscriber.getId(), 1);
+        relationshipResolver.evict(subscribing, subscriber);
+        calendarVersionService.bump(subscribing.getId(), subscriber.getId());
         notificationService.send(userid , NotificationType.SUBSCRIBE_ACCEPT, NotificationType.SUBSCRIBE_ACCEPT.makeContent(subscribing.getNickName()), subscribing.getId());
         return new UserSubscribeResponseDto(userSubscribe1);
     }
@@ -78,8 +92,14 @@ public class UserSubscribeService {
         }
         Notification notification = notificationRepository.findNotification(subscriber, subscribing.getId(), NotificationType.SUBSCRIBE_ACCEPT);
         if (notification != null)
-        {notificationRepository.delete(notification);}
+        {notificationService.delete(notification);}
         userSubscribeRepository.delete(userSubscribe);
+        userRepository.addSubscribingCount(subscribing.getId(), -1);
+        userRepository.addSubscriberCount(subscriber.getId(), -1);
+        subscribeTimelineService.unsubscribe(subscribing, subscriber);
+        popularityLeaderboard.addSubscriberCount(subscriber.getId(), -1);
+        relationshipResolver.evict(subscribing, subscriber);
+        calendarVersionService.bump(subscribing.getId(), subscriber.getId());
     }
 
     @Transactional(readOnly = true)
@@ -90,13 +110,10 @@ public class UserSubscribeService {
         User master = userRepository.findById(userId).orElseThrow(
                 () -> new CustomException(USER_NOT_FOUND)
         );
-        if (visitor == master || friendRepository.findFriend(visitor, master) != null){ // 친구이면
-            List<User> userSubscribers = userSubscribeRepository.findAllSubscriberUserBySort(master, SortEnum.valueOf(sort.toUpperCase()));
-            List<UserResponseDto> userSubscribeList = friendService.makeUserResponseDtos(master, userSubscribers)
-                    .stream()
-                    .filter(user -> user.getNickName().contains(searchWord) || user.getEmail().contains(searchWord))
-                    .collect(Collectors.toList());
-            return userSubscribeList;
+        if (RelationshipResolver.isSelfOrFriend(relationshipResolver.resolve(visitor, master))){ // 친구이면
+            List<User> userSubscribers = friendService.filterBySearchWord(
+                    userSubscribeRepository.findAllSubscriberUserBySort(master, SortEnum.valueOf(sort.toUpperCase())), searchWord);
+            return friendService.makeUserResponseDtos(master, userSubscribers);
         }
         throw new CustomException(USER_FORBIDDEN);
     }
@@ -109,13 +126,10 @@ public class UserSubscribeService {
         User master = userRepository.findById(userId).orElseThrow(
                 () -> new CustomException(USER_NOT_FOUND)
         );
-        if (visitor == master || friendRepository.findFriend(visitor, master) != null) { // 친구이면
-            List<User> userSubscribers = userSubscribeRepository.findAllSubscribingUserBySort(master, SortEnum.valueOf(sort.toUpperCase()));
-            List<UserResponseDto> userSubscribeList = friendService.makeUserResponseDtos(visitor, userSubscribers)
-                    .stream()
-                    .filter(user -> user.getNickName().contains(searchWord) || user.getEmail().contains(searchWord))
-                    .collect(Collectors.toList());
-            return userSubscribeList;
+        if (RelationshipResolver.isSelfOrFriend(relationshipResolver.resolve(visitor, master))) { // 친구이면
+            List<User> userSubscribers = friendService.filterBySearchWord(
+                    userSubscribeRepository.findAllSubscribingUserBySort(master, SortEnum.valueOf(sort.toUpperCase())), searchWord);
+            return friendService.makeUserResponseDtos(visitor, userSubscribers);
         }
         throw new CustomException(USER_FORBIDDEN);
     }
@@ -130,14 +144,35 @@ public class UserSubscribeService {
         //user가 subscribe를 구독하고 있다면. (테이블에 존재한다면)
         UserSubscribe userSubscribe = userSubscribeRepository.findBySubscribingIdAndSubscriberId(user, subscribe);
         if (userSubscribe != null){
+            calendarVersionService.bump(user.getId());
             if (userSubscribe.getIsVisible()) { // true였다면
                 userSubscribe.update(user, subscribe, false);
+                subscribeTimelineService.setVisible(user, subscribe, false);
                 return StatusResponseDto.toResponseEntity(SUBSCRIBE_NOT_PUST_VIEW_SUCCESS);
             } else { //false였다면
                 userSubscribe.update(user, subscribe, true);
+                subscribeTimelineService.setVisible(user, subscribe, true);
                 return StatusResponseDto.toResponseEntity(SUBSCRIBE_PUST_VIEW_SUCCESS);
             }
         }
         throw new CustomException(NOT_SUBSCRIBE_USER);
     }
+
+    // 카운터가 구독 테이블과 어긋난 유저를 다시 맞춤 (유저 삭제 시 cascade 로 지워진 구독, 컬럼 추가 전 가입한 유저 등)
+    @Scheduled(cron = "0 30 4 * * ?")
+    @ScheduledWithLease(name = "reconcileSubscribeCounts", leaseSeconds = 30 * 60)
+    @Transactional
+    public void reconcileSubscribeCounts() {
+        int fixed = userRepository.reconcileSubscribeCounts();
+        if (fixed > 0) {
+            log.info("Subscribe counters reconciled. [users={}]", fixed);
+        }
+    }
+
+    // 컬럼이 추가된 직후에도 목록에 0 이 보이지 않도록 기동 시 한 번 맞춤
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillSubscribeCounts() {
+        reconcileSubscribeCounts();
+    }
 }
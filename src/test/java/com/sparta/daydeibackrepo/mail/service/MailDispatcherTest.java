@@ -0,0 +1,133 @@
+package com.sparta.daydeibackrepo.mail.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sparta.daydeibackrepo.mail.dto.MailDto;
+import com.sparta.daydeibackrepo.mail.entity.MailOutbox;
+import com.sparta.daydeibackrepo.mail.repository.MailOutboxRepository;
+import com.sparta.daydeibackrepo.support.MySqlTestContainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.mail.Message;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// 메일 대기열(MailOutbox) -> MailDispatcher -> SMTP(GreenMail) 까지 실제로 흘려보는 테스트
+@SpringBootTest
+class MailDispatcherTest extends MySqlTestContainer {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailService mailService;
+    @Autowired
+    private MailDispatcher mailDispatcher;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearOutbox() {
+        mailOutboxRepository.deleteAllInBatch();
+    }
+
+    // 커밋 후 깨워진 발송기가 배치를 보내고 보낸 행을 지움
+    @Test
+    void enqueuedBatchIsDeliveredAndDeleted() throws Exception {
+        mailService.sendScheduleNotifyMails(mails("a@daydei.test", "b@daydei.test", "c@daydei.test"));
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT.toMillis(), 3)).isTrue();
+        Set<String> recipients = new HashSet<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            recipients.add(message.getRecipients(Message.RecipientType.TO)[0].toString());
+        }
+        assertThat(recipients).containsExactlyInAnyOrder("a@daydei.test", "b@daydei.test", "c@daydei.test");
+        await().atMost(TIMEOUT).until(() -> mailOutboxRepository.count() == 0);
+        assertThat(mailDispatcher.getQueueDepth()).isZero();
+    }
+
+    // 내용이 똑같은 행 두 개도 각각 보내고 둘 다 지움
+    @Test
+    void identicalRowsAreSentAndDeletedSeparately() {
+        mailOutboxRepository.bulkInsert(mails("same@daydei.test", "same@daydei.test"));
+
+        mailDispatcher.wakeUp();
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT.toMillis(), 2)).isTrue();
+        await().atMost(TIMEOUT).until(() -> mailOutboxRepository.count() == 0);
+    }
+
+    // SMTP 가 죽어 있으면 시도할 때마다 다음 시도 시각이 더 멀리 밀리고, MAX_ATTEMPTS 번째 실패에서 failed 로 남음
+    @Test
+    void smtpFailureBacksOffAndGivesUpAfterMaxAttempts() {
+        greenMail.stop();
+        mailOutboxRepository.bulkInsert(mails("down@daydei.test"));
+        Long id = mailOutboxRepository.findAll().get(0).getId();
+
+        List<Duration> delays = new ArrayList<>();
+        for (int attempt = 1; attempt <= MailDispatcher.MAX_ATTEMPTS; attempt++) {
+            // 다음 시도 시각을 지금으로 당겨서 바로 다시 잡히게 함
+            jdbcTemplate.update("UPDATE mail_outbox SET next_attempt_at = ? WHERE id = ?", LocalDateTime.now().minusSeconds(1), id);
+            LocalDateTime before = LocalDateTime.now();
+            mailDispatcher.wakeUp();
+
+            int expectedAttempts = attempt;
+            await().atMost(TIMEOUT).until(() -> mailOutboxRepository.findById(id).orElseThrow().getAttempts() == expectedAttempts);
+            MailOutbox mail = mailOutboxRepository.findById(id).orElseThrow();
+            Duration delay = Duration.between(before, mail.getNextAttemptAt());
+
+            assertThat(mail.getClaimToken()).isNull();
+            assertThat(delay).isGreaterThanOrEqualTo(Duration.ofSeconds(MailDispatcher.BASE_BACKOFF_SECONDS << (attempt - 1)));
+            if (!delays.isEmpty()) {
+                assertThat(delay).isGreaterThan(delays.get(delays.size() - 1));
+            }
+            assertThat(mail.getFailed()).isEqualTo(attempt >= MailDispatcher.MAX_ATTEMPTS);
+            delays.add(delay);
+        }
+
+        // 포기한 메일은 행은 남지만 대기열 수에서는 빠지고 다시 잡히지 않음
+        assertThat(mailOutboxRepository.count()).isEqualTo(1);
+        assertThat(mailDispatcher.getQueueDepth()).isZero();
+    }
+
+    // 발송 전 대기 중인 행 수 (bulkInsert 는 발송기를 깨우지 않음)
+    @Test
+    void queueDepthReflectsPendingRows() {
+        mailOutboxRepository.bulkInsert(mails("d@daydei.test", "e@daydei.test"));
+        assertThat(mailDispatcher.getQueueDepth()).isEqualTo(2);
+
+        mailDispatcher.wakeUp();
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT.toMillis(), 2)).isTrue();
+        await().atMost(TIMEOUT).until(() -> mailDispatcher.getQueueDepth() == 0);
+    }
+
+    private List<MailDto> mails(String... emails) {
+        List<MailDto> mails = new ArrayList<>();
+        for (String email : emails) {
+            MailDto mail = new MailDto();
+            mail.setEmail(email);
+            mail.setName("[Daydei] 테스트 일정");
+            mail.setSubject("[Daydei] 테스트 일정");
+            mail.setMessage(email + " 님, 테스트 일정이 곧 시작합니다.");
+            mails.add(mail);
+        }
+        return mails;
+    }
+}
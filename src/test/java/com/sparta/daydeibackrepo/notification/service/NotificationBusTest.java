@@ -0,0 +1,180 @@
+package com.sparta.daydeibackrepo.notification.service;
+
+import com.sparta.daydeibackrepo.DaydeiBackRepoApplication;
+import com.sparta.daydeibackrepo.notification.entity.NotificationType;
+import com.sparta.daydeibackrepo.support.MySqlTestContainer;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// WAS 두 대 (같은 JVM 안의 애플리케이션 컨텍스트 두 개, 같은 MySQL) 사이의 알림 전달
+// A 에 SSE 연결을 열고 B 에서 보낸 알림이 DbPollingNotificationBus 폴링으로 A 에 도착하는지,
+// watermark 아래 범위를 다시 읽어도 같은 알림이 두 번 가지 않는지, 늦게 커밋된 (더 작은 id) 알림도 도착하는지 확인한다.
+class NotificationBusTest extends MySqlTestContainer {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    // 폴링 주기(1초)의 몇 배 동안 기다려서 폴링이 여러 번 일어나게 함
+    private static final Duration OVERLAP_WAIT = Duration.ofSeconds(4);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void notificationSentOnOtherNodeArrivesOnceThroughPollingBus() {
+        User receiver = saveUser(nodeA);
+        List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+        Disposable subscription = nodeA.getBean(NotificationService.class).connect(receiver, null).subscribe(events::add);
+        try {
+            send(nodeB, receiver, 1L);
+
+            await().atMost(TIMEOUT).until(() -> notificationIds(events).size() == 1);
+
+            // 다른 노드에서 보낸 알림 여러 개 + 연결이 있는 노드에서 직접 보낸 알림 (바로 전달 후 폴링에서 다시 읽힘)
+            send(nodeB, receiver, 2L);
+            send(nodeB, receiver, 3L);
+            send(nodeA, receiver, 4L);
+
+            await().atMost(TIMEOUT).until(() -> notificationIds(events).size() == 4);
+            sleep(OVERLAP_WAIT);
+
+            Map<String, Long> deliveries = notificationIds(events).stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            assertThat(deliveries).hasSize(4);
+            assertThat(deliveries.values()).containsOnly(1L);
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    // B 에서 먼저 id 를 받은 트랜잭션이 다음 알림보다 늦게 커밋되어도 A 에 도착함
+    // (늦은 트랜잭션이 받는 사람의 users 행을 잡고 있으므로 먼저 커밋되는 알림은 다른 유저에게 보냄)
+    @Test
+    void lateCommitBelowWatermarkIsStillDelivered() throws Exception {
+        User lateReceiver = saveUser(nodeA);
+        User receiver = saveUser(nodeA);
+        List<ServerSentEvent<Object>> lateEvents = new CopyOnWriteArrayList<>();
+        List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+        NotificationService notificationService = nodeA.getBean(NotificationService.class);
+        Disposable lateSubscription = notificationService.connect(lateReceiver, null).subscribe(lateEvents::add);
+        Disposable subscription = notificationService.connect(receiver, null).subscribe(events::add);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 알림 행을 insert(IDENTITY 라 바로 id 발급) 한 뒤 커밋하지 않고 기다림
+            Future<?> late = executor.submit(() -> nodeB.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+                nodeB.getBean(NotificationService.class).send(lateReceiver.getId(), NotificationType.FRIEND_REQUEST,
+                        NotificationType.FRIEND_REQUEST.makeContent("sender"), 1L);
+                inserted.countDown();
+                awaitLatch(release);
+            }));
+            assertThat(inserted.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+
+            // 더 큰 id 의 알림이 먼저 커밋되어 A 의 watermark 가 늦은 알림 위로 올라감
+            send(nodeB, receiver, 2L);
+            await().atMost(TIMEOUT).until(() -> notificationIds(events).size() == 1);
+
+            release.countDown();
+            late.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+            await().atMost(TIMEOUT).until(() -> notificationIds(lateEvents).size() == 1);
+            sleep(OVERLAP_WAIT);
+            assertThat(notificationIds(lateEvents)).hasSize(1);
+            assertThat(notificationIds(events)).hasSize(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            lateSubscription.dispose();
+            subscription.dispose();
+        }
+    }
+
+    // 각 노드는 실제 배포처럼 DB 폴링 버스로, 웹 서버는 임의 포트로 띄운다.
+    // (명령행 인자는 테스트 application.properties 의 notification.bus=in-process 보다 우선)
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(DaydeiBackRepoApplication.class).run(
+                "--server.port=0",
+                "--notification.bus=db",
+                "--spring.datasource.url=" + MYSQL.getJdbcUrl(),
+                "--spring.datasource.username=" + MYSQL.getUsername(),
+                "--spring.datasource.password=" + MYSQL.getPassword());
+    }
+
+    private static User saveUser(ConfigurableApplicationContext node) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return node.getBean(UserRepository.class)
+                .save(new User("receiver-" + suffix + "@daydei.test", "password", "receiver" + suffix, "0303"));
+    }
+
+    // 서비스에서 부르는 것처럼 트랜잭션 안에서 보냄 (버스 발행은 커밋 이후)
+    private static void send(ConfigurableApplicationContext node, User receiver, Long returnId) {
+        NotificationService notificationService = node.getBean(NotificationService.class);
+        node.getBean(TransactionTemplate.class).executeWithoutResult(status ->
+                notificationService.send(receiver.getId(), NotificationType.FRIEND_REQUEST,
+                        NotificationType.FRIEND_REQUEST.makeContent("sender"), returnId));
+    }
+
+    // 첫 이벤트(안 읽은 알림 수)와 heartbeat 는 id 가 없음
+    private static List<String> notificationIds(List<ServerSentEvent<Object>> events) {
+        return events.stream()
+                .map(ServerSentEvent::id)
+                .filter(id -> id != null)
+                .collect(Collectors.toList());
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.sparta.daydeibackrepo.post.service;
+
+import com.sparta.daydeibackrepo.post.dto.HomeResponseDto;
+import com.sparta.daydeibackrepo.post.dto.PostRequestDto;
+import com.sparta.daydeibackrepo.post.dto.PostResponseDto;
+import com.sparta.daydeibackrepo.post.entity.ColorEnum;
+import com.sparta.daydeibackrepo.post.entity.Post;
+import com.sparta.daydeibackrepo.post.entity.ScopeEnum;
+import com.sparta.daydeibackrepo.post.repository.PostRepository;
+import com.sparta.daydeibackrepo.postSubscribe.entity.PostSubscribe;
+import com.sparta.daydeibackrepo.postSubscribe.repository.PostSubscribeRepository;
+import com.sparta.daydeibackrepo.security.UserDetailsImpl;
+import com.sparta.daydeibackrepo.support.MySqlTestContainer;
+import com.sparta.daydeibackrepo.support.StatementCounter;
+import com.sparta.daydeibackrepo.support.StatementCounter.Counted;
+import com.sparta.daydeibackrepo.tag.entity.Tag;
+import com.sparta.daydeibackrepo.tag.repository.TagRepository;
+import com.sparta.daydeibackrepo.user.entity.User;
+import com.sparta.daydeibackrepo.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 캘린더 한 화면(일정 100개)을 읽을 때 쿼리 수가 일정 수와 상관없이 고정인지 확인하는 회귀 테스트
+// 일정 1개인 캘린더와 100개인 캘린더의 쿼리 수가 같아야 하고, 예상 쿼리 수를 넘으면 안 된다.
+// Post.image 를 다시 EAGER 로 바꾸거나 image / tag / PostSubscribe / User 의 @BatchSize 가 빠지면 일정 수만큼 쿼리가 늘어나서 깨진다.
+// 쿼리 수는 테스트 스레드에서 실행된 것만 센다. (StatementCounter)
+@SpringBootTest
+class PostQueryCountTest extends MySqlTestContainer {
+    private static final int POST_COUNT = 100;
+
+    // 유저 조회(+ categoryEnum) 2 + 프로젝션 3 (작성/구독/공유)
+    private static final long HOME_PAGE_STATEMENTS = 5;
+    // 일정 1 + image 1 + tag 1 + PostSubscribe 1 + 참여자(User, categoryEnum) 2
+    private static final long HYDRATE_STATEMENTS = 6;
+    // 유저 조회 2 + 일정 2 + PostSubscribe 1 + 참여자(User, categoryEnum) 2 + image 1
+    private static final long SHARE_PAGE_STATEMENTS = 8;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PostSubscribeRepository postSubscribeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User master;
+    private User single;
+    private User visitor;
+    private LocalDate from;
+
+    // master 는 일정 100개, single 은 일정 1개를 만들고 (이미지 2장씩) 모두 visitor 를 태그, visitor 는 전부 수락
+    @BeforeEach
+    void setUp() {
+        master = saveUser("master");
+        single = saveUser("single");
+        visitor = saveUser("visitor");
+        from = LocalDate.now().plusDays(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            savePosts(master, POST_COUNT);
+            savePosts(single, 1);
+        });
+    }
+
+    @Test
+    void homeCalendarPageUsesFixedStatementCount() {
+        Counted<List<HomeResponseDto>> one = StatementCounter.count(() -> homePage(single));
+        Counted<List<HomeResponseDto>> many = StatementCounter.count(() -> homePage(master));
+
+        assertThat(one.getResult()).hasSize(1);
+        assertThat(many.getResult()).hasSize(POST_COUNT);
+        assertThat(many.getStatements()).isEqualTo(one.getStatements());
+        assertThat(many.getStatements()).isLessThanOrEqualTo(HOME_PAGE_STATEMENTS);
+    }
+
+    @Test
+    void hydratingPostCollectionsIsBatched() {
+        Counted<Integer> one = StatementCounter.count(() -> hydrate(single));
+        Counted<Integer> many = StatementCounter.count(() -> hydrate(master));
+
+        assertThat(one.getResult()).isEqualTo(1);
+        assertThat(many.getResult()).isEqualTo(POST_COUNT);
+        assertThat(many.getStatements()).isEqualTo(one.getStatements());
+        assertThat(many.getStatements()).isLessThanOrEqualTo(HYDRATE_STATEMENTS);
+    }
+
+    @Test
+    void sharePostPageUsesFixedStatementCount() {
+        Counted<List<PostResponseDto>> one = StatementCounter.count(() -> postService.getSharePost(single.getId(), userDetails(visitor)));
+        Counted<List<PostResponseDto>> many = StatementCounter.count(() -> postService.getSharePost(master.getId(), userDetails(visitor)));
+
+        assertThat(one.getResult()).hasSize(1);
+        assertThat(many.getResult()).hasSize(5);
+        assertThat(many.getResult().get(0).getImage()).hasSize(2);
+        assertThat(many.getStatements()).isEqualTo(one.getStatements());
+        assertThat(many.getStatements()).isLessThanOrEqualTo(SHARE_PAGE_STATEMENTS);
+    }
+
+    private List<HomeResponseDto> homePage(User owner) {
+        return postService.getHomePost(owner.getId(), from.toString(), from.plusDays(27).toString(), userDetails(owner));
+    }
+
+    // 일정 목록을 읽고 image / tag / 참여자(PostSubscribe.user)까지 모두 초기화, 참여자 수를 반환
+    private int hydrate(User owner) {
+        return transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Post post : postRepository.findAllPostByUser(owner)) {
+                assertThat(post.getImage()).hasSize(2);
+                assertThat(post.getTag()).hasSize(1);
+                for (PostSubscribe postSubscribe : post.getPostSubscribe()) {
+                    assertThat(postSubscribe.getUser().getNickName()).isEqualTo(visitor.getNickName());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private User saveUser(String prefix) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(prefix + "-" + suffix + "@daydei.test", "password", prefix + suffix, "0101"));
+    }
+
+    private void savePosts(User owner, int count) {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PostRequestDto requestDto = new PostRequestDto();
+            requestDto.setTitle("일정 " + i);
+            requestDto.setContent("내용 " + i);
+            requestDto.setImage(List.of("https://image.test/" + i + "-1.png", "https://image.test/" + i + "-2.png"));
+            requestDto.setScope(ScopeEnum.ALL);
+            requestDto.setColor(ColorEnum.BLUE);
+            LocalDate date = from.plusDays(i % 28);
+            posts.add(new Post(requestDto, date, date, LocalTime.of(9, 0), LocalTime.of(10, 0), owner));
+        }
+        postRepository.saveAll(posts);
+
+        List<Tag> tags = new ArrayList<>();
+        List<PostSubscribe> postSubscribes = new ArrayList<>();
+        for (Post post : posts) {
+            tags.add(new Tag(visitor, post));
+            postSubscribes.add(new PostSubscribe(post, visitor, true));
+        }
+        tagRepository.saveAll(tags);
+        postSubscribeRepository.saveAll(postSubscribes);
+    }
+
+    private UserDetailsImpl userDetails(User user) {
+        return new UserDetailsImpl(user, user.getEmail());
+    }
+}
@@ -0,0 +1,22 @@
+package com.sparta.daydeibackrepo.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+// 통합 테스트용 MySQL (UPDATE ... LIMIT, UPDATE ... JOIN 같은 네이티브 쿼리가 있어서 H2 대신 실제 MySQL)
+// JVM 당 컨테이너 하나를 띄워 모든 테스트 컨텍스트가 같이 쓴다. (Ryuk 가 JVM 종료 시 정리)
+public abstract class MySqlTestContainer {
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.32");
+
+    static {
+        MYSQL.start();
+    }
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sparta.daydeibackrepo.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+// Hibernate 가 준비하는 SQL 을 스레드별로 센다. (application.properties 의 statement_inspector 로 등록)
+// 세는 동안 다른 스레드에서 도는 스케줄 작업(인덱스 재적재, 리마인더, 메일 발송 등)의 쿼리는 섞이지 않는다.
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    // action 을 지금 스레드에서 실행하는 동안 준비된 SQL 수
+    public static <T> Counted<T> count(Supplier<T> action) {
+        long[] count = new long[1];
+        COUNT.set(count);
+        try {
+            T result = action.get();
+            return new Counted<>(result, count[0]);
+        } finally {
+            COUNT.remove();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static class Counted<T> {
+        private final T result;
+        private final long statements;
+
+        private Counted(T result, long statements) {
+            this.result = result;
+            this.statements = statements;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+    }
+}